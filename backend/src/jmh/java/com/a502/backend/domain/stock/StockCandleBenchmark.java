@@ -0,0 +1,52 @@
+package com.a502.backend.domain.stock;
+
+import com.a502.backend.domain.stock.response.StockPriceHistoryByBar;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 봉 차트 묶기 벤치마크 (getStockGraphInfosByBar)
+ * bars 개의 일봉을 최신순으로 만들어 두고 period 개씩 묶는다.
+ * 조회는 max-bars * period 개까지만 읽으므로 bars 는 그 범위 안에서 잡는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StockCandleBenchmark {
+	@Param({"200", "6000"})
+	private int bars;
+
+	@Param({"1", "3", "30"})
+	private int period;
+
+	private List<StockCandleBar> candles;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(502);
+		LocalDateTime today = LocalDateTime.now().toLocalDate().atStartOfDay();
+		candles = new ArrayList<>(bars);
+		int price = 10000;
+		for (int i = 0; i < bars; i++) {
+			int startPrice = price;
+			price = Math.max(100, price + random.nextInt(1001) - 500);
+			candles.add(new StockCandleBar(today.minusDays(i), startPrice,
+					Math.max(startPrice, price) + random.nextInt(300),
+					Math.min(startPrice, price) - random.nextInt(300),
+					price, random.nextInt(1000)));
+		}
+	}
+
+	@Benchmark
+	public List<StockPriceHistoryByBar> toBars() {
+		return StockCandleService.toBars(candles, period);
+	}
+}
@@ -0,0 +1,130 @@
+package com.a502.backend.domain.stock.orderbook;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 호가창 매칭 / 호가 집계 벤치마크
+ * <p>
+ * orders 개의 주문을 매수, 매도 각각 levels 개 가격대에 나눠 걸어둔 호가창에서 측정한다.
+ * 체결로 빠진 수량은 같은 가격에 다시 걸어서 측정하는 동안 호가창 크기가 그대로 유지되게 한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderBookBenchmark {
+	private static final int BASE_PRICE = 10000;
+	private static final int CNT = 10;
+	private static final int SWEEP_CNT = 1000;
+
+	@Param({"1000", "10000", "100000", "1000000"})
+	private int orders;
+
+	@Param({"100"})
+	private int levels;
+
+	private OrderBook orderBook;
+	private int nextOrderId;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		orderBook = new OrderBook(1);
+		nextOrderId = 1;
+		for (int i = 0; i < orders; i++) {
+			OrderSide side = i % 2 == 0 ? OrderSide.BUY : OrderSide.SELL;
+			int offset = (i / 2) % levels + 1;
+			orderBook.rest(order(side, side == OrderSide.BUY ? BASE_PRICE - offset : BASE_PRICE + offset, CNT));
+		}
+		orderBook.drainDepthChanges();
+	}
+
+	/**
+	 * 최우선 매도 호가의 맨 앞 주문 하나와 체결
+	 */
+	@Benchmark
+	public List<OrderFill> matchBestLevel() {
+		List<OrderFill> fills = orderBook.match(order(OrderSide.BUY, BASE_PRICE + 1, CNT));
+		replenish(fills);
+		orderBook.drainDepthChanges();
+		return fills;
+	}
+
+	/**
+	 * 여러 가격대를 한 번에 쓸어가는 큰 주문 (시장가 주문과 같은 경로)
+	 */
+	@Benchmark
+	public List<OrderFill> matchSweep() {
+		List<OrderFill> fills = orderBook.match(order(OrderSide.BUY, BASE_PRICE + levels, SWEEP_CNT));
+		replenish(fills);
+		orderBook.drainDepthChanges();
+		return fills;
+	}
+
+	/**
+	 * 체결 없이 호가창에 올렸다가 취소
+	 */
+	@Benchmark
+	public RestingOrder restAndCancel() {
+		RestingOrder order = order(OrderSide.BUY, BASE_PRICE - levels / 2, CNT);
+		orderBook.rest(order);
+		RestingOrder canceled = orderBook.cancel(OrderSide.BUY, order.getOrderId());
+		orderBook.drainDepthChanges();
+		return canceled;
+	}
+
+	/**
+	 * FOK 주문의 전량 체결 가능 여부 확인
+	 */
+	@Benchmark
+	public int fillableQuantity() {
+		return orderBook.fillableQuantity(OrderSide.BUY, BASE_PRICE + levels, SWEEP_CNT);
+	}
+
+	/**
+	 * 주문 하나 처리 후 바뀐 호가만 모으기 (StockOrderDepthPublisher.publish 경로)
+	 */
+	@Benchmark
+	public List<DepthChange> depthDelta() {
+		replenish(orderBook.match(order(OrderSide.BUY, BASE_PRICE + 1, CNT)));
+		return orderBook.drainDepthChanges();
+	}
+
+	/**
+	 * 주문 하나 처리 후 호가 전체 다시 만들기 (StockOrderDepthPublisher.refresh / 기존 getStockOrderInfo 경로)
+	 */
+	@Benchmark
+	public List<DepthChange> depthFull() {
+		replenish(orderBook.match(order(OrderSide.BUY, BASE_PRICE + 1, CNT)));
+		orderBook.drainDepthChanges();
+		List<DepthChange> depth = new ArrayList<>();
+		for (PriceLevel level : orderBook.getBids().values())
+			depth.add(new DepthChange(OrderSide.BUY, level.getPrice(), level.getTotalQuantity()));
+		for (PriceLevel level : orderBook.getAsks().values())
+			depth.add(new DepthChange(OrderSide.SELL, level.getPrice(), level.getTotalQuantity()));
+		return depth;
+	}
+
+	/**
+	 * 체결된 만큼 매도 주문을 같은 가격에 다시 건다
+	 */
+	private void replenish(List<OrderFill> fills) {
+		for (OrderFill fill : fills)
+			orderBook.rest(order(OrderSide.SELL, fill.price(), fill.cnt()));
+	}
+
+	private RestingOrder order(OrderSide side, int price, int cnt) {
+		return RestingOrder.builder()
+				.orderId(nextOrderId++)
+				.userId(nextOrderId % 1000)
+				.side(side)
+				.price(price)
+				.remaining(cnt)
+				.build();
+	}
+}
@@ -4,6 +4,7 @@ import com.a502.backend.application.config.generator.JwtProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -42,6 +43,9 @@ public class SecurityConfig {
                         .requestMatchers("/api/**").permitAll()
                         // 해당 API에 대해서는 인증된 사용자만 요청을 허가
                         .requestMatchers("user/sign-up/child").authenticated()
+                        // actuator 는 health 만 인증된 사용자에게, 나머지(작업 기록, metrics, 코드 조회/다시 읽기)는 운영자(ADMIN)만 허가
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").authenticated()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         // 이 밖에 모든 요청에 대해서 인증을 필요로 한다는 설정 (이 부분은 조건에 따라 조정 필요)
                         .anyRequest().authenticated())
                 // JWT 인증을 위하여 직접 구현한 필터를 UsernamePasswordAuthenticationFilter 전에 실행
@@ -15,15 +15,24 @@ import java.util.List;
 public class CustomUserDetails implements UserDetails {
 
     private final User user;
+    // 운영자(security.admin-emails 에 있는 이메일)면 ROLE_ADMIN 을 함께 준다
+    private final boolean admin;
 
     public CustomUserDetails(User user) {
+        this(user, false);
+    }
+
+    public CustomUserDetails(User user, boolean admin) {
         this.user = user;
+        this.admin = admin;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         // 사용자의 권한을 반환합니다. 예제에서는 간단히 처리합니다.
         // 실제로는 user.getRoles() 같은 메소드로 사용자의 권한을 조회하여 처리해야 합니다.
+        if (admin)
+            return List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
         return List.of(new SimpleGrantedAuthority("ROLE_USER"));
     }
 
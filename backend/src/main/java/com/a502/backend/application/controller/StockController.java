@@ -2,8 +2,11 @@ package com.a502.backend.application.controller;
 
 import com.a502.backend.application.entity.RankingDetail;
 import com.a502.backend.application.facade.StockFacade;
+import com.a502.backend.domain.stock.StockMarketDataPublisher;
+import com.a502.backend.domain.stock.request.RankingPageRequest;
 import com.a502.backend.domain.stock.request.StockNameRequest;
 import com.a502.backend.domain.stock.request.StockPriceHistoryRequest;
+import com.a502.backend.domain.stock.request.StockTickHistoryRequest;
 import com.a502.backend.domain.stock.request.StockTransactionRequest;
 import com.a502.backend.domain.stock.response.*;
 import com.a502.backend.global.response.ApiResponse;
@@ -13,7 +16,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -23,31 +26,31 @@ import java.util.List;
 @RequiredArgsConstructor
 @RequestMapping("/api/stock")
 public class StockController {
-	private final SimpMessageSendingOperations sendingOperations;
+	private final StockMarketDataPublisher stockMarketDataPublisher;
 	private final StockFacade stockFacade;
 
 	// 해당 주식 정보 조회
 	@MessageMapping("/orders/{name}")
 	public void getStockOrderInfo(@DestinationVariable String name) {
 		PriceAndStockOrderList result = stockFacade.getStockOrderInfo(name);
-		sendingOperations.convertAndSend("/sub/orders/" + name, result);
+		stockMarketDataPublisher.publishLatest("/sub/orders/" + name, result);
+	}
+
+	// 구독 시 호가 스냅샷 (이후 변경분은 /sub/orders/{name}/delta)
+	@SubscribeMapping("/orders/{name}")
+	public PriceAndStockOrderList subscribeStockOrderInfo(@DestinationVariable String name) {
+		return stockFacade.getStockOrderInfo(name);
 	}
 
 	@PostMapping("/buy")
 	public ResponseEntity<ApiResponse<Void>> stockBuy(@RequestBody StockTransactionRequest request) {
 		stockFacade.stockBuy(request);
-		PriceAndStockOrderList result = stockFacade.getStockOrderInfo(request.getName());
-		sendingOperations.convertAndSend("/sub/orders/" + request.getName(), result);
-		log.info("result : {}", result.getPrice());
 		return ResponseEntity.ok(new ApiResponse<>(ResponseCode.API_SUCCESS_STOCK_BUY));
 	}
 
 	@PostMapping("/sell")
 	public ResponseEntity<ApiResponse<Void>> stockSell(@RequestBody StockTransactionRequest request) {
 		stockFacade.stockSell(request);
-		PriceAndStockOrderList result = stockFacade.getStockOrderInfo(request.getName());
-		sendingOperations.convertAndSend("/sub/orders/" + request.getName(), result);
-		log.info("result : {}", result.getPrice());
 		return ResponseEntity.ok(new ApiResponse<>(ResponseCode.API_SUCCESS_STOCK_SELL));
 	}
 
@@ -65,6 +68,20 @@ public class StockController {
 		return ResponseEntity.ok(new ApiResponse<>(ResponseCode.API_SUCCESS_STOCK_PRICE_HISTORY_BAR, result));
 	}
 
+	// 주식별 분봉 조회(봉그래프, period : 1분 / 5분)
+	@PostMapping("/price/history/minute")
+	public ResponseEntity<ApiResponse<List<StockPriceHistoryByBar>>> getStockGraphInfosByMinute(@RequestBody StockPriceHistoryRequest request) {
+		List<StockPriceHistoryByBar> result = stockFacade.getStockGraphInfosByMinute(request.getName(), request.getPeriod());
+		return ResponseEntity.ok(new ApiResponse<>(ResponseCode.API_SUCCESS_STOCK_PRICE_HISTORY_MINUTE, result));
+	}
+
+	// 주식별 장중 틱 조회(구간을 points 개 이하의 봉으로 줄임)
+	@PostMapping("/price/history/tick")
+	public ResponseEntity<ApiResponse<List<StockPriceHistoryByTick>>> getStockTickHistory(@RequestBody StockTickHistoryRequest request) {
+		List<StockPriceHistoryByTick> result = stockFacade.getStockTickHistory(request.getName(), request.getFrom(), request.getTo(), request.getPoints());
+		return ResponseEntity.ok(new ApiResponse<>(ResponseCode.API_SUCCESS_STOCK_PRICE_HISTORY_TICK, result));
+	}
+
 	// 전체 주식 정보 조회
 	@PostMapping("/all")
 	public ResponseEntity<ApiResponse<TotalStockListResponse>> getAllStock() {
@@ -98,6 +115,20 @@ public class StockController {
 		return ResponseEntity.ok(new ApiResponse<>(ResponseCode.API_SUCCESS_RANKING_LIST, result));
 	}
 
+	// 랭킹 페이지 조회 (offset 부터 limit 명)
+	@PostMapping("/ranking/page")
+	public ResponseEntity<ApiResponse<RankingPageResponse>> getRankingPage(@RequestBody RankingPageRequest request) {
+		RankingPageResponse result = stockFacade.getRankingPage(request);
+		return ResponseEntity.ok(new ApiResponse<>(ResponseCode.API_SUCCESS_RANKING_PAGE, result));
+	}
+
+	// 내 순위 주변 랭킹 조회 (나를 가운데 두고 limit 명)
+	@PostMapping("/ranking/around")
+	public ResponseEntity<ApiResponse<RankingPageResponse>> getRankingAroundMe(@RequestBody RankingPageRequest request) {
+		RankingPageResponse result = stockFacade.getRankingAroundMe(request);
+		return ResponseEntity.ok(new ApiResponse<>(ResponseCode.API_SUCCESS_RANKING_PAGE, result));
+	}
+
 	// 주식 상세 정보 조회(1개)
 	@PostMapping("/detail")
 	public ResponseEntity<ApiResponse<StockInfoResponse>> getStockInfo(@RequestBody StockNameRequest stockNameRequest) {
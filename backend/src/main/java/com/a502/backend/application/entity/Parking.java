@@ -3,6 +3,7 @@ package com.a502.backend.application.entity;
 import com.a502.backend.global.common.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.UUID;
 
@@ -28,6 +29,11 @@ public class Parking extends BaseEntity {
 	@Column(name = "balance")
 	private int balance;
 
+	// 체결되지 않은 매수 주문에 묶인 금액
+	@ColumnDefault("0")
+	@Column(name = "reserved")
+	private int reserved;
+
 	@Column(name = "interest")
 	private double interest;
 
@@ -0,0 +1,45 @@
+package com.a502.backend.application.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * 파킹통장 이자 지급 진행 위치
+ * 지급일마다 parking_id 구간을 나눈 partition 별로, 이자를 준 마지막 parking_id 를 남긴다.
+ * 이자 지급 chunk 와 같은 트랜잭션에서 갱신되므로 중간에 멈춰도 이어서 돌리면 두 번 주지 않는다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "parking_interest_checkpoints")
+public class ParkingInterestCheckpoint {
+	@EmbeddedId
+	private Id id;
+
+	// partition 의 끝 (이 id 는 포함하지 않는다)
+	@Column(name = "to_id")
+	private int toId;
+
+	@Column(name = "last_id")
+	private int lastId;
+
+	@Embeddable
+	@Getter
+	@NoArgsConstructor(access = AccessLevel.PROTECTED)
+	@EqualsAndHashCode
+	public static class Id implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		@Column(name = "accrual_date")
+		private LocalDate accrualDate;
+
+		@Column(name = "partition_no")
+		private int partitionNo;
+	}
+}
@@ -0,0 +1,44 @@
+package com.a502.backend.application.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 스케줄 작업 fence
+ * 작업의 한 회차(run_key, 보통 실행 날짜)마다 마지막으로 쓴 lease token 을 남긴다.
+ * 작업의 쓰기와 같은 트랜잭션에서 갱신되므로, 이보다 작은 token 을 든 서버의 쓰기는 롤백된다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "scheduled_job_fences")
+public class ScheduledJobFence {
+	@EmbeddedId
+	private Id id;
+
+	@Column(name = "lease_token", nullable = false)
+	private long leaseToken;
+
+	@Column(name = "updated_at", nullable = false)
+	private LocalDateTime updatedAt;
+
+	@Embeddable
+	@Getter
+	@NoArgsConstructor(access = AccessLevel.PROTECTED)
+	@EqualsAndHashCode
+	public static class Id implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		@Column(name = "job_name")
+		private String jobName;
+
+		@Column(name = "run_key")
+		private String runKey;
+	}
+}
@@ -0,0 +1,71 @@
+package com.a502.backend.application.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 스케줄 작업 실행 기록
+ * 작업 lease 를 잡은 서버만 남기고, 같은 작업의 lease token 은 한 번만 쓸 수 있다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "scheduled_job_runs",
+		uniqueConstraints = @UniqueConstraint(name = "uk_scheduled_job_runs_job_token", columnNames = {"job_name", "lease_token"}),
+		indexes = @Index(name = "idx_scheduled_job_runs_job_started_at", columnList = "job_name, started_at"))
+public class ScheduledJobRun {
+	public static final String RUNNING = "RUNNING";
+	public static final String SUCCEEDED = "SUCCEEDED";
+	public static final String FAILED = "FAILED";
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "scheduled_job_run_id")
+	private long id;
+
+	@Column(name = "job_name", nullable = false)
+	private String jobName;
+
+	@Column(name = "lease_token", nullable = false)
+	private long leaseToken;
+
+	@Column(name = "owner", nullable = false)
+	private String owner;
+
+	@Column(name = "status", nullable = false)
+	private String status;
+
+	@Column(name = "started_at", nullable = false)
+	private LocalDateTime startedAt;
+
+	@Column(name = "finished_at")
+	private LocalDateTime finishedAt;
+
+	// 작업이 바꾼 행 수 (세지 않는 작업은 null)
+	@Column(name = "affected_rows")
+	private Integer affectedRows;
+
+	@Column(name = "message", length = 1000)
+	private String message;
+
+	@Builder
+	public ScheduledJobRun(String jobName, long leaseToken, String owner, LocalDateTime startedAt) {
+		this.jobName = jobName;
+		this.leaseToken = leaseToken;
+		this.owner = owner;
+		this.startedAt = startedAt;
+		this.status = RUNNING;
+	}
+
+	public void finish(String status, Integer affectedRows, String message) {
+		this.status = status;
+		this.affectedRows = affectedRows;
+		this.finishedAt = LocalDateTime.now();
+		this.message = message == null || message.length() <= 1000 ? message : message.substring(0, 1000);
+	}
+}
@@ -0,0 +1,72 @@
+package com.a502.backend.application.entity;
+
+import com.a502.backend.domain.stock.StockCandleBar;
+import com.a502.backend.domain.stock.StockCandleResolution;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 종목별 미리 집계한 봉
+ * 분봉은 체결 저장 때, 일/주/월봉은 장 마감 때 갱신한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "stock_candles", uniqueConstraints = @UniqueConstraint(name = "uk_stock_candles_bucket", columnNames = {"stock_id", "resolution", "bucket_start"}))
+public class StockCandle {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "stock_candle_id")
+	private long id;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "stock_id")
+	private Stock stock;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "resolution", length = 10)
+	private StockCandleResolution resolution;
+
+	@Column(name = "bucket_start")
+	private LocalDateTime bucketStart;
+
+	@Column(name = "start_price")
+	private int startPrice;
+
+	@Column(name = "highest_price")
+	private int highestPrice;
+
+	@Column(name = "lowest_price")
+	private int lowestPrice;
+
+	@Column(name = "price")
+	private int price;
+
+	@Column(name = "cnt")
+	private int cnt;
+
+	@Builder
+	public StockCandle(Stock stock, StockCandleResolution resolution, StockCandleBar bar) {
+		this.stock = stock;
+		this.resolution = resolution;
+		this.bucketStart = bar.bucketStart();
+		update(bar);
+	}
+
+	public void update(StockCandleBar bar) {
+		this.startPrice = bar.startPrice();
+		this.highestPrice = bar.highestPrice();
+		this.lowestPrice = bar.lowestPrice();
+		this.price = bar.price();
+		this.cnt = bar.cnt();
+	}
+
+	public StockCandleBar toBar() {
+		return new StockCandleBar(bucketStart, startPrice, highestPrice, lowestPrice, price, cnt);
+	}
+}
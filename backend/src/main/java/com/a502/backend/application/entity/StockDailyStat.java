@@ -0,0 +1,39 @@
+package com.a502.backend.application.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 종목별 하루 거래 집계 (거래량, 거래대금, 체결 건수)
+ * StockFillWriter 가 체결을 저장하는 batch 에서 누적한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "stock_daily_stats", uniqueConstraints = @UniqueConstraint(name = "uk_stock_daily_stats_day", columnNames = {"stock_id", "trade_date"}))
+public class StockDailyStat {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "stock_daily_stat_id")
+	private long id;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "stock_id")
+	private Stock stock;
+
+	@Column(name = "trade_date")
+	private LocalDate tradeDate;
+
+	@Column(name = "volume")
+	private long volume;
+
+	@Column(name = "turnover")
+	private long turnover;
+
+	@Column(name = "trade_cnt")
+	private long tradeCnt;
+}
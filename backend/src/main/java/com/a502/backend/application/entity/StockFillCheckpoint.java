@@ -0,0 +1,26 @@
+package com.a502.backend.application.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 종목별로 DB 에 반영된 마지막 체결 저널 순번
+ * 체결 일괄 저장과 같은 트랜잭션에서 갱신된다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "stock_fill_checkpoints")
+public class StockFillCheckpoint {
+	@Id
+	@Column(name = "stock_id")
+	private int stockId;
+
+	@Column(name = "last_seq")
+	private long lastSeq;
+}
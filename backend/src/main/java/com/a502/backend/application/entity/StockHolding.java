@@ -4,6 +4,7 @@ import com.a502.backend.domain.stock.StockHoldingsId;
 import com.a502.backend.global.common.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.UUID;
 
@@ -32,6 +33,11 @@ public class StockHolding extends BaseEntity {
 	@Column(name = "total")
 	private int total;
 
+	// 체결되지 않은 매도 주문에 묶인 주식 수
+	@ColumnDefault("0")
+	@Column(name = "reserved_cnt")
+	private int reservedCnt;
+
 	@MapsId("user")
 	@ManyToOne
 	@JoinColumn(name = "user_id")
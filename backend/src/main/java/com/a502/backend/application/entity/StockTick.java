@@ -0,0 +1,45 @@
+package com.a502.backend.application.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 체결 틱 (체결 시각, 체결가, 체결 수량)
+ * StockFillWriter 가 체결을 저장하는 batch 에서 함께 덧붙이기만 하고 수정하지 않는다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "stock_ticks", indexes = @Index(name = "idx_stock_ticks_stock_created_at", columnList = "stock_id, created_at"))
+public class StockTick {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "stock_tick_id")
+	private long id;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "stock_id")
+	private Stock stock;
+
+	@Column(name = "created_at")
+	private LocalDateTime createdAt;
+
+	@Column(name = "price")
+	private int price;
+
+	@Column(name = "cnt")
+	private int cnt;
+
+	@Builder
+	public StockTick(Stock stock, LocalDateTime createdAt, int price, int cnt) {
+		this.stock = stock;
+		this.createdAt = createdAt;
+		this.price = price;
+		this.cnt = cnt;
+	}
+}
@@ -60,14 +60,14 @@ public class SavingFacade {
 		User parents = userService.userFindByEmail();
 		Savings savings = savingsService.findByUuid(savingsUuid);
 		// 부모 본인만 삭제 가능
-		if (savings.getParent() != parents)
+		if (savings.getParent().getId() != parents.getId())
 			throw BusinessException.of(ErrorCode.API_ERROR_NO_AUTHORIZATION);
 		// 자식들이 해당 적금 상품에 가입이 되어 있는 경우
 		List<Account> accountList = accountService.findAllSavingsBySaving(savings);
 		if (!accountList.isEmpty())
 			throw BusinessException.of(ErrorCode.API_ERROR_SAVINGS_DELETE);
 		// 삭제
-		savings.setDeleted(true);
+		savingsService.delete(savings);
 	}
 
 	public AllSavingsProductResponse getAllSavingProduct() {
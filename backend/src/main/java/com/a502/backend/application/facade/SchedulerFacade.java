@@ -3,26 +3,31 @@ package com.a502.backend.application.facade;
 import com.a502.backend.application.entity.*;
 import com.a502.backend.domain.account.AccountService;
 import com.a502.backend.domain.loan.LoansService;
-import com.a502.backend.domain.parking.ParkingDetailsService;
-import com.a502.backend.domain.parking.ParkingService;
+import com.a502.backend.domain.parking.ParkingInterestAccrual;
 import com.a502.backend.domain.savings.SavingsService;
 import com.a502.backend.domain.stock.*;
-import com.a502.backend.domain.stock.response.RankingResponse;
+import com.a502.backend.domain.stock.orderbook.OrderSide;
 import com.a502.backend.domain.weather.Weather;
 import com.a502.backend.domain.weather.WeatherService;
 import com.a502.backend.global.code.CodeService;
+import com.a502.backend.global.common.AfterCommit;
+import com.a502.backend.global.scheduler.ScheduledJobRunner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import java.time.LocalDate;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-
-import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 
+/**
+ * 스케줄 작업
+ * 서버를 여러 대 띄워도 작업마다 한 서버만 돌도록 모든 cron 은 ScheduledJobRunner 의 lease 를 잡고 돈다.
+ * 다시 돌리면 결과가 달라지는 작업은 날짜를 회차로 fence 를 잡아서, lease 가 넘어가거나 늦은 서버가 돌려도 하루 한 번만 쓴다.
+ * lease 는 cron 이 겹치지 않게 할 뿐이고, 주문 체결은 서버 메모리의 호가창을 쓰므로 서버는 한 대만 띄운다.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -30,94 +35,123 @@ public class SchedulerFacade {
     private final WeatherService weatherService;
     private final StockDetailsService stockDetailsService;
     private final StocksService stocksService;
-    private final StockFacade stockFacade;
-    private final StockSellsService stockSellsService;
-    private final StockBuysService stockBuysService;
     private final AccountService accountService;
     private final CodeService codeService;
     private final LoansService loansService;
-    private final ParkingService parkingService;
-    private final ParkingDetailsService parkingDetailsService;
+    private final ParkingInterestAccrual parkingInterestAccrual;
+    private final StockOrderBookService stockOrderBookService;
+    private final StockOrderSequencer stockOrderSequencer;
+    private final StockCandleService stockCandleService;
+    private final MarketSnapshot marketSnapshot;
+    private final ScheduledJobRunner scheduledJobRunner;
+
+    @Value("${stock.market-end.chunk-size:1000}")
+    private int marketEndChunkSize;
 
     @Scheduled(cron = "0 0 11 ? * *")
     public void marketStart() {
+        scheduledJobRunner.runOnce("marketStart", LocalDate.now().toString(), this::startMarket);
+    }
+
+    /**
+     * 시작가는 전날 가격에서 정하므로 같은 날 두 번 돌리면 안 된다. 실패하면 롤백하고 회차도 잡지 않는다.
+     *
+     * @return 시작가를 정한 종목 수
+     */
+    private int startMarket() {
         try {
             Weather weather = weatherService.weatherApi();
-            stockDetailsService.setMarketStart(weather, stocksService.findAllList());
+            List<Stock> stocks = stocksService.findAllList();
+            stockDetailsService.setMarketStart(weather, stocks);
+            AfterCommit.run(() -> {
+                marketSnapshot.reload();
+                // 시작가가 바뀌었으므로 호가를 다시 보낸다
+                for (Stock stock : stocks)
+                    stockOrderSequencer.run(stock.getId(), () -> stockOrderBookService.publishDepth(stock));
+            });
+            return stocks.size();
         } catch (Exception e) {
             log.info("* 비상이다 비상사태! 공습경보! Message: {}", e.getMessage());
+            throw new IllegalStateException("market start failed", e);
         }
     }
 
-    @Scheduled(cron = "${schedule.cron.test}")
-    public void calRank(){
-        log.info("start cal Rank()");
-        stockFacade.makeRankList();
-    }
-
     @Scheduled(cron = "${schedule.cron.saving}")
     public void checkSavingMaturity(){
-        Date now = new Date();
-        Calendar cal = Calendar.getInstance();
-
-        Code code = codeService.findByName("만기");
-        List<Account> savings = accountService.findAllByASavingAccount();
-        for(Account saving : savings){
-            Date date = java.sql.Timestamp.valueOf(saving.getCreatedAt());
-            cal.setTime(date);
-            cal.add(Calendar.MONTH, saving.getSavings().getPeriod());
-            Date date1 = cal.getTime();
-            if (date1.before(now) || date1.equals(now)){
-                accountService.updateStatusCode(saving, code);
-            }
-        }
+        scheduledJobRunner.runOnce("checkSavingMaturity", LocalDate.now().toString(), this::matureSavings);
     }
 
+    /**
+     * 적금 만기 처리 메서드
+     * 가입일 + 적금 기간이 지난 진행중 적금을 DB 에서 한 번의 update 로 만기로 바꾼다.
+     *
+     * @return 만기로 바꾼 적금 수
+     */
+    private int matureSavings(){
+        return accountService.updateMaturedSavings(codeService.findByName("만기"), LocalDateTime.now());
+    }
 
     @Scheduled(cron = "${schedule.cron.loan}")
     public void checkLoanArrears(){
-        Date now = new Date();
-        List<Loan> loans = loansService.findAllLoansInProgress();
-
-        for (Loan loan : loans) {
-            ZonedDateTime zonedDateTime = loan.getStartDate().atStartOfDay(ZoneId.systemDefault());
-            Date date = Date.from(zonedDateTime.toInstant());
-            long difference = now.getTime() - date.getTime();
-            long diffDays = difference / (24 * 60 * 60 * 1000);
-            diffDays /= loan.getPaymentDate();
-
-            if (loan.getPaymentNowCnt() < diffDays){
-                loansService.updateOverdueCnt(loan);
-            }
-        }
+        scheduledJobRunner.runOnce("checkLoanArrears", LocalDate.now().toString(), this::countLoanArrears);
+    }
 
+    /**
+     * 대출 연체 처리 메서드
+     * 시작일부터 지난 날 수 / 상환 주기 가 갚은 횟수보다 큰 진행중 대출의 연체 횟수를 DB 에서 한 번의 update 로 1 올린다.
+     * 다시 돌리면 또 올라가므로 하루 한 번만 돈다.
+     *
+     * @return 연체 횟수를 올린 대출 수
+     */
+    private int countLoanArrears(){
+        return loansService.increaseOverdueCnt(LocalDateTime.now());
     }
 
     @Scheduled(cron = "${schedule.cron.interest}")
     public void checkParkingAccountInterest(){
-        List<Parking> parkingList = parkingService.findAllList();
+        scheduledJobRunner.runAndCount("checkParkingAccountInterest", this::payParkingInterest);
+    }
 
-        for (Parking parking : parkingList) {
-            int balanceToday = parking.getBalance();
-            int interest = (int) (balanceToday * parking.getInterest()) / 365 / 100;
-            parkingService.updateParkingBalance(parking, interest + parking.getBalance());
-            parkingDetailsService.saveInterest(parking, interest, codeService.findByName("이자"));
-        }
+    /**
+     * 파킹통장 하루 이자 지급 메서드
+     * ParkingInterestAccrual 이 통장을 구간별로 나눠 병렬로, chunk 단위 JDBC batch 로 지급한다.
+     * 중간에 멈춰도 같은 날 다시 돌리면 이어서 지급한다. chunk 마다 fence 를 검사해서 lease 를 잃은 실행의 chunk 는 롤백된다.
+     */
+    private int payParkingInterest(){
+        LocalDate today = LocalDate.now();
+        return parkingInterestAccrual.accrue(today, codeService.findByName("이자").getId(), scheduledJobRunner.fenceCheck(today.toString()));
     }
 
+    /**
+     * 장 마감 시 거래중인 주문을 모두 취소하는 메서드
+     * 종목 스레드에서 chunk-size 개씩 잘라 한 번의 update 로 취소하고, 묶인 금액/주식 수도 함께 푼다.
+     * chunk 마다 트랜잭션을 나눠서 그 사이에 다른 작업이 종목 스레드를 오래 기다리지 않게 한다.
+     * 취소가 끝나면 그날의 일봉을 저장하고 주/월봉을 갱신한다.
+     * 종목마다 시작 전에 아직 lease 를 들고 있는지 확인한다. 열린 주문 취소와 봉 저장은 다시 돌려도 결과가 같다.
+     */
     @Scheduled(cron = "${schedule.cron.end}")
     public void marketEnd(){
-        List<StockBuy> stockBuys = stockBuysService.getStockTransListOpend();
-        List<StockSell> stockSells = stockSellsService.getStockTransListOpend();
-        Code code = codeService.findByName("취소");
+        scheduledJobRunner.run("marketEnd", this::endMarket);
+    }
 
-        for (StockBuy stockBuy: stockBuys) {
-            stockBuysService.updateCode(stockBuy, code);
-        }
-        for (StockSell stockSell: stockSells) {
-            stockSellsService.updateCode(stockSell, code);
+    private void endMarket(){
+        long start = System.currentTimeMillis();
+        String cancelCodeId = codeService.findByName("취소").getId();
+
+        int canceled = 0;
+        for (Stock stock : stocksService.findAllList()) {
+            scheduledJobRunner.checkLease();
+            for (OrderSide side : OrderSide.values()) {
+                int count;
+                do {
+                    count = stockOrderSequencer.execute(stock.getId(),
+                            () -> stockOrderBookService.cancelOpenOrders(stock, side, marketEndChunkSize, cancelCodeId));
+                    canceled += count;
+                } while (count == marketEndChunkSize);
+            }
+            stockCandleService.closeDay(stock);
         }
-
+        log.info("market end. canceled orders : {}, elapsed : {}ms", canceled, System.currentTimeMillis() - start);
     }
 
 
@@ -1,9 +1,11 @@
 package com.a502.backend.application.facade;
 
 import com.a502.backend.application.entity.*;
-import com.a502.backend.domain.parking.ParkingDetailsService;
 import com.a502.backend.domain.parking.ParkingService;
 import com.a502.backend.domain.stock.*;
+import com.a502.backend.domain.stock.orderbook.OrderFill;
+import com.a502.backend.domain.stock.orderbook.OrderSide;
+import com.a502.backend.domain.stock.request.RankingPageRequest;
 import com.a502.backend.domain.stock.request.StockNameRequest;
 import com.a502.backend.domain.stock.request.StockTransactionRequest;
 import com.a502.backend.domain.stock.response.*;
@@ -13,15 +15,15 @@ import com.a502.backend.global.error.BusinessException;
 import com.a502.backend.global.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.util.*;
 
 @Slf4j
@@ -37,180 +39,157 @@ public class StockFacade {
 	private final ParkingService parkingService;
 	private final StockDetailsService stockDetailsService;
 	private final StockHoldingsService stockHoldingsService;
-	private final ParkingDetailsService parkingDetailsService;
 	private final CodeService codeService;
 	private final RankService rankService;
+	private final StockOrderBookService stockOrderBookService;
+	private final StockOrderSequencer stockOrderSequencer;
+	private final StockOrderDepthPublisher stockOrderDepthPublisher;
+	private final StockCandleService stockCandleService;
+	private final StockTickStore stockTickStore;
+	private final MarketSnapshot marketSnapshot;
+
+	@Value("${stock.candle.max-bars:200}")
+	private int candleMaxBars;
 
 	/**
 	 * 매수 거래 신청 메서드
+	 * 주문 확인/저장/체결은 종목 스레드에서 하나의 트랜잭션으로 처리하고,
+	 * 체결 내역이 StockFillWriter 에서 저장된 뒤에 응답한다.
+	 * 시장가/IOC/FOK 주문은 호가창에 남지 않고, 체결되지 않은 수량은 바로 취소된다.
 	 *
 	 * @param request
 	 */
-	@Transactional
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public void stockBuy(StockTransactionRequest request) {
-		String name = request.getName();
-		int price = request.getPrice();
-		int cnt_total = request.getCnt_total();
+		// 조회는 각자 트랜잭션에서 끝내서 종목 스레드와 체결 저장을 기다리는 동안 DB 커넥션을 잡고 있지 않는다
 		User user = userService.userFindByEmail();
-		Stock stock = stocksService.findByName(name);
+		Stock stock = stocksService.findByName(request.getName());
+		StockOrderMatch match = stockOrderSequencer.execute(stock.getId(), () -> placeBuy(user, stock, request.getPrice(), request.getCnt_total(), orderType(request)));
+		StockFillWriter.await(match.persisted());
+	}
 
-		stockDetailsService.validStockPrice(stock, price);
-		int price1 = parkingService.getParkingBalance(user);
-		int price2 = stockBuysService.getStockBuyWaitingList(user, stock, codeService.findByName("거래중"));
-		if (price1 - price2 < price * cnt_total)
-			throw BusinessException.of(ErrorCode.API_ERROR_PARKING_NOT_ENOUGH_BALANCE);
+	StockOrderMatch placeBuy(User user, Stock stock, int price, int cnt_total, StockOrderType type) {
+		// 호가창을 DB 에서 새로 만들어야 할 때 이 주문까지 읽어 두 번 올리지 않도록 주문 저장 전에 먼저 읽는다
+		stockOrderBookService.ensureLoaded(stock);
+		if (type == StockOrderType.MARKET)
+			price = stockDetailsService.getLastDetail(stock).getUpperLimitPrice();
+		else
+			stockDetailsService.validStockPrice(stock, price);
+		if (type == StockOrderType.FOK && stockOrderBookService.fillableQuantity(stock, OrderSide.BUY, price, cnt_total) < cnt_total)
+			throw BusinessException.of(ErrorCode.API_ERROR_STOCK_ORDER_NOT_FILLABLE);
+		// 주문 금액을 파킹통장에 묶으면서 잔액을 확인한다
+		parkingService.reserve(user, price * cnt_total);
 
 		log.info("거래 가능 상태 확인 완료!Buy");
 
 		Code code = codeService.findByName("거래중");
 
 		StockBuy stockBuy = stockBuysService.save(user, stock, price, cnt_total, code);
-		transSell(stock, price, cnt_total, stockBuy, code);
+		return transSell(stock, stockBuy, type.rests());
 	}
 
-	@Transactional
-//    @Lock(LockModeType.PESSIMISTIC_WRITE)
-	synchronized void transSell(Stock stock, int price, int cnt_total, StockBuy stockBuy, Code code) {
-		List<StockSell> list = stockSellsService.findTransactionList(stock, price);
-
-		if (list.isEmpty()) return;
-		for (StockSell stockSell : list) {
-			if (cnt_total == 0) break;
-			cnt_total -= transaction(stockBuy, stockSell);
+	/**
+	 * 매수 주문을 호가창의 매도 주문과 체결하는 메서드
+	 * 매수 지정가 이하의 매도 호가를 낮은 가격부터 차례로 체결하고, rest 이면 남은 수량은 호가창에 올린다.
+	 * 체결 내역(파킹통장, 주문 잔량, 보유 주식)은 커밋 후 StockFillWriter 가 모아서 저장한다.
+	 * 지정가보다 싸게 체결된 차액과 취소된 수량의 금액은 묶어둘 필요가 없으므로 바로 푼다.
+	 */
+	StockOrderMatch transSell(Stock stock, StockBuy stockBuy, boolean rest) {
+		StockOrderMatch match = stockOrderBookService.match(stock, stockOrderBookService.toRestingOrder(stockBuy), rest);
+		int saved = 0;
+		int remaining = stockBuy.getCntNot();
+		for (OrderFill fill : match.fills()) {
+			saved += (stockBuy.getPrice() - fill.price()) * fill.cnt();
+			remaining -= fill.cnt();
+		}
+		if (!rest && remaining > 0) {
+			saved += stockBuy.getPrice() * remaining;
+			stockBuysService.updateCode(stockBuy, codeService.findByName("취소"));
 		}
-		stockDetailsService.updateStockDetail(stock, price);
+		parkingService.release(stockBuy.getUser(), saved);
+		updateStockDetail(stock, match);
+		return match;
 	}
 
 	/**
 	 * 매도 거래 신청 메서드
+	 * 주문 확인/저장/체결은 종목 스레드에서 하나의 트랜잭션으로 처리하고,
+	 * 체결 내역이 StockFillWriter 에서 저장된 뒤에 응답한다.
+	 * 시장가/IOC/FOK 주문은 호가창에 남지 않고, 체결되지 않은 수량은 바로 취소된다.
 	 *
 	 * @param request
 	 */
-	@Transactional
-//    @Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public void stockSell(StockTransactionRequest request) {
-		String name = request.getName();
-		int price = request.getPrice();
-		int cnt_total = request.getCnt_total();
+		// 조회는 각자 트랜잭션에서 끝내서 종목 스레드와 체결 저장을 기다리는 동안 DB 커넥션을 잡고 있지 않는다
 		User user = userService.userFindByEmail();
-		Stock stock = stocksService.findByName(name);
-
-		stockDetailsService.validStockPrice(stock, price);
-		int cnt1 = stockHoldingsService.getStockHolding(user, stock);
-		int cnt2 = stockSellsService.getStockSellWaitingList(user, stock, codeService.findByName("거래중"));
+		Stock stock = stocksService.findByName(request.getName());
+		StockOrderMatch match = stockOrderSequencer.execute(stock.getId(), () -> placeSell(user, stock, request.getPrice(), request.getCnt_total(), orderType(request)));
+		StockFillWriter.await(match.persisted());
+	}
 
-		if (cnt1 - cnt2 < cnt_total)
-			throw BusinessException.of(ErrorCode.API_ERROR_STOCK_HOLDING_NOT_EXIST);
+	StockOrderMatch placeSell(User user, Stock stock, int price, int cnt_total, StockOrderType type) {
+		// 호가창을 DB 에서 새로 만들어야 할 때 이 주문까지 읽어 두 번 올리지 않도록 주문 저장 전에 먼저 읽는다
+		stockOrderBookService.ensureLoaded(stock);
+		if (type == StockOrderType.MARKET)
+			price = stockDetailsService.getLastDetail(stock).getLowerLimitPrice();
+		else
+			stockDetailsService.validStockPrice(stock, price);
+		if (type == StockOrderType.FOK && stockOrderBookService.fillableQuantity(stock, OrderSide.SELL, price, cnt_total) < cnt_total)
+			throw BusinessException.of(ErrorCode.API_ERROR_STOCK_ORDER_NOT_FILLABLE);
+		// 주문 수량을 보유 주식에 묶으면서 보유 수량을 확인한다
+		stockHoldingsService.reserve(user, stock, cnt_total);
 
 		Code code = codeService.findByName("거래중");
 		StockSell stockSell = stockSellsService.save(user, stock, price, cnt_total, code);
-		transBuy(stock, price, cnt_total, stockSell, code);
-
+		return transBuy(stock, stockSell, type.rests());
 	}
 
-
-	@Transactional
-//    @Lock(LockModeType.PESSIMISTIC_WRITE)
-	synchronized void transBuy(Stock stock, int price, int cnt_total, StockSell stockSell, Code code) {
-		List<StockBuy> list = stockBuysService.findTransactionList(stock, price);
-
-		if (list.isEmpty()) return;
-		for (StockBuy stockBuy : list) {
-			if (cnt_total == 0) break;
-			cnt_total -= transaction(stockBuy, stockSell);
+	/**
+	 * 매도 주문을 호가창의 매수 주문과 체결하는 메서드
+	 * 매도 지정가 이상의 매수 호가를 높은 가격부터 차례로 체결하고, rest 이면 남은 수량은 호가창에 올린다.
+	 * 체결 내역(파킹통장, 주문 잔량, 보유 주식)은 커밋 후 StockFillWriter 가 모아서 저장한다.
+	 * 취소된 수량은 보유 주식에 묶어둘 필요가 없으므로 바로 푼다.
+	 */
+	StockOrderMatch transBuy(Stock stock, StockSell stockSell, boolean rest) {
+		StockOrderMatch match = stockOrderBookService.match(stock, stockOrderBookService.toRestingOrder(stockSell), rest);
+		int remaining = stockSell.getCntNot();
+		for (OrderFill fill : match.fills())
+			remaining -= fill.cnt();
+		if (!rest && remaining > 0) {
+			stockHoldingsService.release(stockSell.getUser(), stock, remaining);
+			stockSellsService.updateCode(stockSell, codeService.findByName("취소"));
 		}
-		stockDetailsService.updateStockDetail(stock, price);
+		updateStockDetail(stock, match);
+		return match;
 	}
 
-
 	/**
-	 * 매도-매수 거래, 거래 이후 정보 수정 메서드
-	 * 1. update ParkingDetail : 파킹통장 거래내역 추가
-	 * 2. update ParkingBalance : 파킹통장 총 금액 수정
-	 * 3. update StockSell/StockBuy : 거래ID 에 대해 cntNot 값 수정
-	 * 4. update StockHodings : 매도인/매수인에 대해 보유 주식 수를 수정
-	 *
-	 * @param stockBuy  매수 거래
-	 * @param stockSell 매도 거래
-	 * @return 최종 거래 개수
+	 * 체결가로 StockDetail 을 갱신하고, 커밋되면 시세 스냅샷에도 반영한다
 	 */
-	@Transactional
-	public int transaction(StockBuy stockBuy, StockSell stockSell) {
-		Code code = codeService.findByName("완료");
-
-		int transCnt = Math.min(stockBuy.getCntNot(), stockSell.getCntNot());
-		if (transCnt == 0) return 0;
-
-		ParkingDetail detailSell = parkingDetailsService.saveStockSell(stockSell, parkingService.findByUser(stockSell.getUser()), transCnt, codeService.findByName("매도"));
-		ParkingDetail detailBuy = parkingDetailsService.saveStockBuy(stockBuy, parkingService.findByUser(stockBuy.getUser()), transCnt, codeService.findByName("매수"));
-
-		parkingService.updateParkingBalance(stockSell.getUser(), detailSell.getBalance());
-		parkingService.updateParkingBalance(stockBuy.getUser(), detailBuy.getBalance());
+	private void updateStockDetail(Stock stock, StockOrderMatch match) {
+		StockDetail stockDetail = stockDetailsService.updateStockDetail(stock, match.fills());
+		if (stockDetail != null)
+			marketSnapshot.updateAfterCommit(stock, stockDetail);
+	}
 
-		stockSellsService.stockSell(stockSell, transCnt, code);
-		stockBuysService.stockBuy(stockBuy, transCnt, code);
 
-		stockHoldingsService.stockSell(stockSell.getUser(), stockSell.getStock(), transCnt, stockSell.getPrice());
-		stockHoldingsService.stockBuy(stockBuy.getUser(), stockBuy.getStock(), transCnt, stockBuy.getPrice());
-		return transCnt;
+	private static StockOrderType orderType(StockTransactionRequest request) {
+		return request.getType() == null ? StockOrderType.LIMIT : request.getType();
 	}
 
-
 	/**
 	 * 매도-매수 주문량 조회 메서드
+	 * 종목 스레드가 관리하는 호가 스냅샷을 돌려주고, 아직 없으면 호가창에서 새로 만든다.
 	 *
 	 * @param name 주식명
 	 * @return 주가별 매도, 매수 주문 수량
 	 */
-	// 주가 실시간 조회
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public PriceAndStockOrderList getStockOrderInfo(String name) {
-		// db에서 요청 받은 이름으로 주식 정보 조회
 		Stock stock = stocksService.findByName(name);
-		// 주식 id
-		int id = stock.getId();
-		// 현재 가격
-		int price = stockDetailsService.getLastDetail(stock).getPrice();
-		// 매도 / 매수 주문 리스트
-		List<StockOrderList> stockOrderList = new ArrayList<>();
-		// 주식 id에 해당하는 매도 주문 리스트 조회
-		List<StockSell> sellList = stockSellsService.getSellOrderList(id, 0, LocalDate.now().atStartOfDay());
-		if (!sellList.isEmpty()) {
-			int sellPrice = sellList.get(0).getPrice();
-			int sellCnt = 0;
-			for (int i = 0; i < sellList.size(); i++) {
-				if (sellPrice == sellList.get(i).getPrice()) {
-					sellCnt += sellList.get(i).getCntNot();
-				} else {
-					stockOrderList.add(StockOrderList.builder().sellOrderCnt(sellCnt).price(sellPrice).build());
-					sellCnt = sellList.get(i).getCntNot();
-					sellPrice = sellList.get(i).getPrice();
-				}
-				if (i == sellList.size() - 1) {
-					stockOrderList.add(StockOrderList.builder().sellOrderCnt(sellCnt).price(sellPrice).build());
-				}
-			}
-
-		}
-		// 주식 id에 해당하는 매수 주문 리스트 조회
-		List<StockBuy> buyList = stockBuysService.getBuyOrderList(id, 0, LocalDate.now().atStartOfDay());
-		if (!buyList.isEmpty()) {
-			int buyPrice = buyList.get(0).getPrice();
-			int buyCnt = 0;
-			for (int i = 0; i < buyList.size(); i++) {
-				if (buyPrice == buyList.get(i).getPrice()) {
-					buyCnt += buyList.get(i).getCntNot();
-				} else {
-					stockOrderList.add(StockOrderList.builder().buyOrderCnt(buyCnt).price(buyPrice).build());
-					buyCnt = buyList.get(i).getCntNot();
-					buyPrice = buyList.get(i).getPrice();
-				}
-				if (i == buyList.size() - 1) {
-					stockOrderList.add(StockOrderList.builder().buyOrderCnt(buyCnt).price(buyPrice).build());
-				}
-			}
-		}
-		stockOrderList.sort(Collections.reverseOrder());
-		return PriceAndStockOrderList.builder().price(price).stockOrderList(stockOrderList).build();
+		return stockOrderDepthPublisher.getSnapshot(stock.getId())
+				.orElseGet(() -> stockOrderSequencer.execute(stock.getId(), () -> stockOrderBookService.publishDepth(stock)));
 	}
 
 	// 주가 기간별 정보 조회(선그래프)
@@ -232,92 +211,77 @@ public class StockFacade {
 		return result;
 	}
 
+	/**
+	 * 봉 그래프 조회 메서드
+	 * 1일/7일/30일은 미리 집계한 일/주/월봉을 그대로 읽고, 그 외 기간은 일봉을 period 개씩 묶는다.
+	 * 최대 max-bars 개의 봉만 읽으므로 기록이 길어져도 조회 비용이 늘지 않는다.
+	 *
+	 * @param period 봉 하나의 일 수
+	 */
+	@Transactional(readOnly = true)
 	public List<StockPriceHistoryByBar> getStockGraphInfosByBar(String name, Integer period) {
-		// 주식
 		Stock stock = stocksService.findByName(name);
-		// 전체 주식 기록 가져오기
-		List<StockDetail> stockDetailsList = stockDetailsService.findAllByStockOrderByCreatedAtDesc(stock);
-		// 요청 날짜 주기로 데이터 보내주기
-		List<StockPriceHistoryByBar> result = new ArrayList<>();
-		// 최고가
-		int highestPrice = Integer.MIN_VALUE;
-		// 최저가
-		int lowestPrice = Integer.MAX_VALUE;
-		// 시작가
-		int startPrice = 0;
-		// 등록일
-		LocalDateTime createdAt = LocalDateTime.now();
-		// 종가
-		int price = 0;
-
-		if (period == 1) {
-			for (StockDetail sd : stockDetailsList) {
-				long x = sd.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
-				List<Integer> y = new ArrayList<>();
-				y.add(sd.getStartPrice());
-				y.add(sd.getHighestPrice());
-				y.add(sd.getLowestPrice());
-				y.add(sd.getPrice());
-				StockPriceHistoryByBar priceHistoryByBar = StockPriceHistoryByBar.builder().x(x).y(y).build();
-				result.add(priceHistoryByBar);
-			}
-		} else {
-			for (int i = 0; i < stockDetailsList.size(); i++) {
-				// 마지막 날 기준으로 최저가 최고가 초기화 및 날짜/종가 보내주기
-				if (i % period == 0) {
-					highestPrice = Integer.MIN_VALUE;
-					lowestPrice = Integer.MAX_VALUE;
-					createdAt = stockDetailsList.get(i).getCreatedAt();
-					price = stockDetailsList.get(i).getPrice();
-				}
-				// 최고가 갱신
-				if (highestPrice < stockDetailsList.get(i).getHighestPrice())
-					highestPrice = stockDetailsList.get(i).getHighestPrice();
-				// 최저가 갱신
-				if (lowestPrice > stockDetailsList.get(i).getLowestPrice())
-					lowestPrice = stockDetailsList.get(i).getLowestPrice();
-				// 시작하는 날 기준으로 시작가 보내주기
-				if (i % period == period - 1 || i == stockDetailsList.size() - 1) {
-					List<Integer> y = new ArrayList<>();
-					startPrice = stockDetailsList.get(i).getStartPrice();
-					y.add(startPrice);
-					y.add(highestPrice);
-					y.add(lowestPrice);
-					y.add(price);
-					long x = createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
-					StockPriceHistoryByBar priceHistoryByBar = StockPriceHistoryByBar.builder()
-							.x(x)
-							.y(y).build();
-					result.add(priceHistoryByBar);
-				}
-			}
+		return switch (period) {
+			case 1 -> StockCandleService.toBars(stockCandleService.getCandles(stock, StockCandleResolution.DAY, candleMaxBars), 1);
+			case 7 -> StockCandleService.toBars(stockCandleService.getCandles(stock, StockCandleResolution.WEEK, candleMaxBars), 1);
+			case 30 -> StockCandleService.toBars(stockCandleService.getCandles(stock, StockCandleResolution.MONTH, candleMaxBars), 1);
+			default -> StockCandleService.toBars(stockCandleService.getCandles(stock, StockCandleResolution.DAY, candleMaxBars * Math.max(period, 1)), Math.max(period, 1));
+		};
+	}
+
+	/**
+	 * 분봉 그래프 조회 메서드 (체결 때마다 갱신된 1분/5분봉)
+	 *
+	 * @param period 봉 하나의 분 수 (1, 5)
+	 */
+	@Transactional(readOnly = true)
+	public List<StockPriceHistoryByBar> getStockGraphInfosByMinute(String name, Integer period) {
+		Stock stock = stocksService.findByName(name);
+		StockCandleResolution resolution = switch (period) {
+			case 1 -> StockCandleResolution.MINUTE_1;
+			case 5 -> StockCandleResolution.MINUTE_5;
+			default -> throw BusinessException.of(ErrorCode.API_ERROR_STOCK_CANDLE_PERIOD_NOT_SUPPORTED);
+		};
+		return StockCandleService.toBars(stockCandleService.getCandles(stock, resolution, candleMaxBars), 1);
+	}
+
+	/**
+	 * 장중 틱 그래프 조회 메서드
+	 * [from, to) 구간을 points 개 이하의 봉(거래량 포함)으로 줄여서 돌려준다.
+	 * from 이 없으면 오늘 0시, to 가 없으면 지금까지 조회한다.
+	 */
+	@Transactional(readOnly = true)
+	public List<StockPriceHistoryByTick> getStockTickHistory(String name, LocalDateTime from, LocalDateTime to, int points) {
+		Stock stock = stocksService.findByName(name);
+		LocalDateTime end = to == null ? LocalDateTime.now() : to;
+		LocalDateTime start = from == null ? end.toLocalDate().atStartOfDay() : from;
+		List<StockPriceHistoryByTick> result = new ArrayList<>();
+		for (StockCandleBar bar : stockTickStore.getBars(stock, start, end, points)) {
+			result.add(StockPriceHistoryByTick.builder()
+					.x(StockTickSeries.toEpochMilli(bar.bucketStart()))
+					.y(List.of(bar.startPrice(), bar.highestPrice(), bar.lowestPrice(), bar.price()))
+					.cnt(bar.cnt())
+					.build());
 		}
 		return result;
 	}
 
+	/**
+	 * 전체 주식 정보 조회 메서드
+	 * 시세 스냅샷만 읽으므로 DB 를 조회하지 않는다.
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public TotalStockListResponse getTotalStockList() {
 		List<TotalStockList> totalStockList = new ArrayList<>();
-		// 주식 이름
-		List<Stock> totalStock = stocksService.findAllList();
-		for (Stock stock : totalStock) {
-			// 일별 주식 정보(오늘 기준)
-			StockDetail stockDetail = stockDetailsService.getLastDetail(stock);
-			// 주식명
-			String name = stock.getName();
-			// 현재가
-			int price = stockDetail.getPrice();
-			// 수익률 ((현재가 - 시가) / 시가) * 100
-			int startPrice = stockDetail.getStartPrice();
-			double incomeRatio = Math.round(((float) (price - startPrice) / startPrice) * 10000) / 100.0;
-			// 오늘 거래량
-			List<StockBuy> stockBuyList = stockBuysService.getTodayTransactions(stock, LocalDate.now().atStartOfDay());
-			int transCnt = 0;
-			for (StockBuy sb : stockBuyList) {
-				transCnt += (sb.getCntTotal() - sb.getCntNot());
-			}
-			String imgUrl = stock.getImageUrl();
-
-			TotalStockList stockInfo = TotalStockList.builder().name(name).price(price).incomeRatio(incomeRatio).transCnt(transCnt).imageUrl(imgUrl).build();
+		for (StockQuote quote : marketSnapshot.getAll()) {
+			// 주식명, 현재가, 수익률, 오늘 거래량, 이미지
+			TotalStockList stockInfo = TotalStockList.builder()
+					.name(quote.name())
+					.price(quote.price())
+					.incomeRatio(quote.getIncomeRatio())
+					.transCnt((int) quote.getTodayVolume())
+					.imageUrl(quote.imageUrl())
+					.build();
 
 			totalStockList.add(stockInfo);
 		}
@@ -334,16 +298,15 @@ public class StockFacade {
 		User user = userService.userFindByEmail();
 		List<StockHolding> stockHoldingList = stockHoldingsService.findAllByUser(user);
 		for (StockHolding sh : stockHoldingList) {
-			Stock stock = stocksService.findById(sh.getStock().getId());
-			StockDetail stockDetail = stockDetailsService.getLastDetail(stock);
+			StockQuote quote = marketSnapshot.get(sh.getStock().getId());
 			// 주식 이름
-			String name = stock.getName();
+			String name = quote.name();
 			// 주식 갯수
 			int cnt = sh.getCnt();
 			// 총 매수가
 			int totalPriceAvg = sh.getTotal();
 			// 현재가
-			int priceCur = stockDetail.getPrice();
+			int priceCur = quote.price();
 			// 현재 주식 평가총액
 			int totalPriceCur = sh.getCnt() * priceCur;
 			// 평균단가
@@ -355,7 +318,7 @@ public class StockFacade {
 			totalIncome += income;
 			totalPrice += totalPriceCur;
 			// 이미지
-			String imgUrl = stock.getImageUrl();
+			String imgUrl = quote.imageUrl();
 			myStockLists.add(MyStockList.builder().name(name).cnt(cnt).income(income).incomeRatio(incomeRatio).priceAvg(priceAvg).priceCur(priceCur).totalPriceAvg(totalPriceAvg).totalPriceCur(totalPriceCur).imageUrl(imgUrl).build());
 		}
 		return MyStockListResponse.builder().myStockList(myStockLists).totalIncome(totalIncome).totalPrice(totalPrice).build();
@@ -373,7 +336,7 @@ public class StockFacade {
 		List<MyWaitingStockOrder> myWaitingStockOrders = new ArrayList<>();
 		for (StockBuy sb : stockBuyList) {
 			// 주식 이름
-			String transName = stocksService.findById(sb.getStock().getId()).getName();
+			String transName = sb.getStock().getName();
 			// 1주당 주문 금액
 			int price = sb.getPrice();
 			// 미체결수
@@ -393,7 +356,7 @@ public class StockFacade {
 
 		for (StockSell ss : stockSellList) {
 			// 주식 이름
-			String transName = stocksService.findById(ss.getStock().getId()).getName();
+			String transName = ss.getStock().getName();
 			// 1주당 주문 금액
 			int price = ss.getPrice();
 			// 미체결수
@@ -414,111 +377,71 @@ public class StockFacade {
 	}
 
 
-	/**
-	 * Ranking 갱신 메서드
-	 */
-	public void makeRankList() {
-		HashMap<String, Integer> stockPriceList = stockDetailsService.getStockPriceList(stocksService.findAllList());
-		List<Parking> parkingList = parkingService.findAllList();
-
-		rankService.deleteRanking();
-		for (Parking parking : parkingList) {
-			List<StockHolding> stockHoldingList = stockHoldingsService.findAllByUser(parking.getUser());
-			int balance = parking.getBalance();
-			for (StockHolding stockHolding : stockHoldingList) {
-				balance += stockHolding.getCnt() * stockPriceList.get(stockHolding.getStock().getName());
-			}
-			rankService.addUserScore(parking.getUser(), balance);
-		}
-	}
-
 	/**
 	 * 랭킹 1 ~ 10위 조회 메서드
 	 *
 	 * @return 랭킹 정보 리스트
 	 */
 	public RankingResponse getRanknigList() {
-		List<RankingDetail> rankingList = getTop10UserRankings();
-		return RankingResponse.of(rankingList);
+		return RankingResponse.of(rankService.getTop10Rankings());
 	}
 
 	/**
 	 * 회원 랭킹 조회 메서드
 	 * <p>
-	 * 10위권 이하의 회원 : 동점자 처리X 순위 반영
-	 * 10위권 이상의 회원 : 동점자 처리 순위 반영
+	 * 동점자는 같은 순위이고, 다음 순위는 건너뛰지 않는다 (1 ~ 10위 조회, 페이지 조회와 같은 순위)
 	 *
 	 * @return 랭킹 정보
 	 */
 	public RankingDetail getRanking() {
 		User user = userService.userFindByEmail();
-		int rank = Math.toIntExact(rankService.getUserRank(user));
-		int balance = (int) rankService.getUserScore(user);
-
-		List<RankingDetail> rankingList = getTop10UserRankings();
-		for (RankingDetail detail : rankingList) {
-			if (detail.getChildName().equals(user.getName()))
-				return detail;
-		}
+		return rankService.getUserRanking(user);
+	}
 
-		return RankingDetail.builder()
-				.rank(rank)
-				.balance(balance)
-				.childName(user.getName())
-				.build();
+	/**
+	 * 랭킹 페이지 조회 메서드
+	 *
+	 * @param request offset 위치부터 limit 명
+	 */
+	public RankingPageResponse getRankingPage(RankingPageRequest request) {
+		if (request.getOffset() < 0)
+			throw BusinessException.of(ErrorCode.API_ERROR_RANKING_PAGE_OUT_OF_RANGE);
+		return rankService.getRankingPage(request.getOffset(), checkLimit(request.getLimit()));
 	}
 
-	// 주식 상세 정보 조회
-	public StockInfoResponse getStockInfo(StockNameRequest stockNameRequest) {
-		String name = stockNameRequest.getName();
-		Stock stock = stocksService.findByName(name);
+	/**
+	 * 내 순위 주변 랭킹 조회 메서드
+	 *
+	 * @param request 나를 가운데 두고 limit 명 (offset 은 쓰지 않는다)
+	 */
+	public RankingPageResponse getRankingAroundMe(RankingPageRequest request) {
+		User user = userService.userFindByEmail();
+		return rankService.getRankingAround(user, checkLimit(request.getLimit()));
+	}
 
-		// 일별 주식 정보(오늘 기준)
-		StockDetail stockDetail = stockDetailsService.getLastDetail(stock);
-		// 현재가
-		int price = stockDetail.getPrice();
-		// 수익률 ((현재가 - 시가) / 시가) * 100
-		int startPrice = stockDetail.getStartPrice();
-		double incomeRatio = Math.round(((float) (price - startPrice) / startPrice) * 10000) / 100.0;
-		// 오늘 거래량
-		List<StockBuy> stockBuyList = stockBuysService.getTodayTransactions(stock, LocalDate.now().atStartOfDay());
-		int transCnt = 0;
-		for (StockBuy sb : stockBuyList) {
-			transCnt += (sb.getCntTotal() - sb.getCntNot());
-		}
-		String imgUrl = stock.getImageUrl();
+	private int checkLimit(int limit) {
+		if (limit < 1 || limit > RankService.MAX_PAGE_SIZE)
+			throw BusinessException.of(ErrorCode.API_ERROR_RANKING_PAGE_OUT_OF_RANGE);
+		return limit;
+	}
 
+	/**
+	 * 주식 상세 정보 조회 메서드
+	 * 시세 스냅샷만 읽으므로 DB 를 조회하지 않는다.
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public StockInfoResponse getStockInfo(StockNameRequest stockNameRequest) {
+		StockQuote quote = marketSnapshot.getByName(stockNameRequest.getName());
 		return StockInfoResponse.builder()
-				.price(price)
-				.incomeRatio(incomeRatio)
-				.transCnt(transCnt)
-				.imageUrl(imgUrl)
-				.upperLimitPrice(stockDetail.getUpperLimitPrice())
-				.lowerLimitPrice(stockDetail.getLowerLimitPrice())
+				.price(quote.price())
+				.incomeRatio(quote.getIncomeRatio())
+				.transCnt((int) quote.getTodayVolume())
+				.turnover(quote.getTodayTurnover())
+				.tradeCnt(quote.getTodayTradeCnt())
+				.imageUrl(quote.imageUrl())
+				.upperLimitPrice(quote.upperLimitPrice())
+				.lowerLimitPrice(quote.lowerLimitPrice())
 				.build();
 	}
 
-	public List<RankingDetail> getTop10UserRankings() {
-		Set<ZSetOperations.TypedTuple<String>> top10UsersWithScores = rankService.getTop10Users();
-		List<RankingDetail> userRankings = new ArrayList<>();
-		int rank = 1;
-		int prevRank = 1;
-		int prevBalance = 0;
-		for (ZSetOperations.TypedTuple<String> userWithScore : top10UsersWithScores) {
-			if (prevBalance == 0)
-				prevBalance = userWithScore.getScore().intValue();
-			int balance = userWithScore.getScore().intValue();
-			int curRank = (balance == prevBalance) ? prevRank : rank;
-			RankingDetail userRanking = RankingDetail.builder()
-					.childName(userService.findByUserUuid(UUID.fromString(userWithScore.getValue())).getName())
-					.rank(curRank)
-					.balance(balance)
-					.build();
-			userRankings.add(userRanking);
-			prevBalance = balance;
-			prevRank = curRank;
-			rank++;
-		}
-		return userRankings;
-	}
 }
@@ -9,6 +9,7 @@ import com.a502.backend.domain.parking.ParkingService;
 import com.a502.backend.domain.savings.SavingsService;
 import com.a502.backend.domain.stock.RankService;
 import com.a502.backend.domain.stock.StockDetailsService;
+import com.a502.backend.domain.stock.PortfolioValuation;
 import com.a502.backend.domain.stock.StockHoldingsService;
 import com.a502.backend.domain.stock.StocksService;
 import com.a502.backend.domain.user.TemporaryUserRepository;
@@ -24,7 +25,6 @@ import com.a502.backend.global.error.BusinessException;
 import com.a502.backend.global.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -146,19 +146,11 @@ public class UserFacade {
 					.endDate(endDate)
 					.childUuid(user.getUserUuid().toString())
 					.build()).getIncomeMonth();
-			int totalIncome = 0;
-			int totalPrice = 0;
+			// 보유 주식 평가는 DB 에서 한 번에 합친다
+			PortfolioValuation valuation = stockHoldingsService.getValuation(user);
+			int totalIncome = (int) valuation.income();
+			int totalPrice = (int) valuation.stockValue();
 			double totalIncomePercent;
-			List<StockHolding> stockHoldingList = stockHoldingsService.findAllByUser(user);
-			for (StockHolding sh : stockHoldingList) {
-				Stock stock = stocksService.findById(sh.getStock().getId());
-				StockDetail stockDetail = stockDetailsService.getLastDetail(stock);
-				int totalPriceAvg = sh.getTotal();
-				int totalPriceCur = sh.getCnt() * stockDetail.getPrice();
-				int income = totalPriceCur - totalPriceAvg;
-				totalIncome += income;
-				totalPrice += totalPriceCur;
-			}
 
 			if (totalPrice - totalIncome == 0)
 				totalIncomePercent = 0;
@@ -234,44 +226,7 @@ public class UserFacade {
 	}
 
 	public int getMyRanking(User user) {
-		Long temp = rankService.getUserRank(user);
-		if (temp == null) return 0;
-		int rank = Math.toIntExact(temp);
-		;
-
-		List<RankingDetail> rankingList = getTop10UserRankings();
-		for (RankingDetail detail : rankingList) {
-			if (detail.getChildName().equals(user.getName()))
-				return detail.getRank();
-		}
-
-		return rank;
-	}
-
-	public List<RankingDetail> getTop10UserRankings() {
-		Set<ZSetOperations.TypedTuple<String>> top10UsersWithScores = rankService.getTop10Users();
-		List<RankingDetail> userRankings = new ArrayList<>();
-		int rank = 1;
-		int prevRank = 1;
-		int prevBalance = 0;
-		for (ZSetOperations.TypedTuple<String> userWithScore : top10UsersWithScores) {
-			if (prevBalance == 0)
-				prevBalance = userWithScore.getScore().intValue();
-			int balance = userWithScore.getScore().intValue();
-			int curRank = (balance == prevBalance) ? prevRank : rank;
-			RankingDetail userRanking = RankingDetail.builder()
-					.childName(userWithScore.getValue())
-					.rank(curRank)
-					.balance(balance)
-					.build();
-			userRankings.add(userRanking);
-
-			prevBalance = balance;
-			prevRank = curRank;
-			rank++;
-		}
-		return userRankings;
+		return rankService.getUserRanking(user).getRank();
 	}
 
-
 }
@@ -7,10 +7,12 @@ import com.a502.backend.application.entity.User;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -38,8 +40,15 @@ interface AccountRepository extends JpaRepository<Account, Integer> {
 	@Query("select a from Account a where a.accountUuid = :uuid and a.typeCode.id = 'AT002' and a.statusCode.id = 'AS002'")
 	Optional<Account> findByAccountUuid(UUID uuid);
 
-	@Query("select a from Account a where a.typeCode.id = 'AT002' and a.statusCode.id = 'AS002' and a.isDeleted = false")
-	List<Account> findAllSavingAccount();
+	// 가입일 + 적금 기간(개월) 이 지난 진행중 적금을 한 번에 만기로 바꾼다
+	@Modifying
+	@Query(value = """
+			update accounts a set status_code_id = :statusCodeId, updated_at = :now
+			from savings s
+			where a.saving_id = s.saving_id and a.type_code_id = 'AT002' and a.status_code_id = 'AS002' and a.is_deleted = false
+			and a.created_at + make_interval(months => s.period) <= :now
+			""", nativeQuery = true)
+	int updateMaturedSavings(String statusCodeId, LocalDateTime now);
 
 	@Query("select a from Account a where a.accountUuid = :uuid and a.savings != null and a.typeCode.id = 'AT002' and a.statusCode.id = 'AS001'")
 	Optional<Account>findExpiredSavingsAccountByUuid(UUID uuid);
@@ -13,7 +13,9 @@ import com.a502.backend.global.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
@@ -179,8 +181,14 @@ public class AccountService {
 		return accountRepository.findByAccountUuid(uuid).orElseThrow(() -> BusinessException.of(ErrorCode.API_ERROR_ACCOUNT_NOT_EXIST));
 	}
 
-	public List<Account> findAllByASavingAccount() {
-		return accountRepository.findAllSavingAccount();
+	/**
+	 * 기간이 지난 진행중 적금을 만기로 바꾸는 메서드
+	 *
+	 * @return 만기로 바꾼 적금 수
+	 */
+	@Transactional
+	public int updateMaturedSavings(Code code, LocalDateTime now) {
+		return accountRepository.updateMaturedSavings(code.getId(), now);
 	}
 
 	public void updateStatusCode(Account account, Code code) {
@@ -4,9 +4,12 @@ import com.a502.backend.application.entity.Code;
 import com.a502.backend.application.entity.Loan;
 import com.a502.backend.application.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,8 +30,14 @@ public interface LoansRepository extends JpaRepository<Loan, Integer> {
 	@Query("select l from Loan l where l.parent = :parent and l.code.id = 'L001' order by l.createdAt desc")
 	List<Loan> findRequestedLoansByParents(User parent);
 
-	@Query("select l from Loan l where l.code.id = 'L002'")
-	List<Loan> findAllLoansInProgress();
+	// 시작일부터 지난 날 수 / 상환 주기(일) 가 지금까지 갚은 횟수보다 큰 진행중 대출의 연체 횟수를 한 번에 1 올린다
+	@Modifying
+	@Query(value = """
+			update loans set overdue_cnt = overdue_cnt + 1, updated_at = :now
+			where code_id = 'L002' and payment_date > 0
+			and (cast(:today as date) - start_date) / payment_date > payment_now_cnt
+			""", nativeQuery = true)
+	int increaseOverdueCnt(LocalDate today, LocalDateTime now);
 
 	List<Loan> findByChildAndCode(User user, Code code);
 
@@ -7,7 +7,9 @@ import com.a502.backend.global.error.BusinessException;
 import com.a502.backend.global.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -52,13 +54,14 @@ public class LoansService {
 		return result;
 	}
 
-	public List<Loan> findAllLoansInProgress() {
-		return loansRepository.findAllLoansInProgress();
-	}
-
-	public void updateOverdueCnt(Loan loan) {
-		loan.updateOverdueCnt(loan.getOverdueCnt() + 1);
-		loansRepository.saveAndFlush(loan);
+	/**
+	 * 상환일이 지났는데 갚지 않은 진행중 대출의 연체 횟수를 올리는 메서드
+	 *
+	 * @return 연체 횟수를 올린 대출 수
+	 */
+	@Transactional
+	public int increaseOverdueCnt(LocalDateTime now) {
+		return loansRepository.increaseOverdueCnt(now.toLocalDate(), now);
 	}
 
 	public void refuseLoan(Loan loan, Code code) {
@@ -19,52 +19,6 @@ public class ParkingDetailsService {
 		return parkingDetailsRepository.findTopByParkingOrderByCreatedAtDesc(parking);
 	}
 
-	@Transactional
-	public ParkingDetail saveStockBuy(StockBuy stockBuy, Parking parking, int cnt, Code code) {
-		ParkingDetail last = getLastDetail(parking);
-		String counterpartyName = stockBuy.getStock().getName();
-		int amount = -stockBuy.getPrice() * cnt;
-		return parkingDetailsRepository.save(ParkingDetail.builder()
-				.parking(parking)
-				.amount(amount)
-				.balance(last.getBalance() + amount)
-				.counterpartyName(counterpartyName)
-				.code(code)
-				.cnt(cnt)
-				.build()
-		);
-	}
-
-	@Transactional
-	public ParkingDetail saveStockSell(StockSell stockSell, Parking parking, int cnt, Code code) {
-		ParkingDetail last = getLastDetail(parking);
-		String counterpartyName = stockSell.getStock().getName();
-		int amount = stockSell.getPrice() * cnt;
-		return parkingDetailsRepository.save(ParkingDetail.builder()
-				.parking(parking)
-				.amount(amount)
-				.balance(last.getBalance() + amount)
-				.counterpartyName(counterpartyName)
-				.code(code)
-				.cnt(cnt)
-				.build()
-		);
-	}
-	@Transactional
-	public ParkingDetail saveInterest(Parking parking, int amount, Code code) {
-		ParkingDetail last = getLastDetail(parking);
-		return parkingDetailsRepository.save(ParkingDetail.builder()
-				.parking(parking)
-				.amount(amount)
-				.balance(last.getBalance() + amount)
-				.counterpartyName("쟈수민의 요술 오븐")
-				.code(code)
-				.cnt(0)
-				.ratio(parking.getInterest())
-				.build()
-		);
-	}
-
 	public List<ParkingDetail> getParkingDetails(Parking parking) {
 		List<ParkingDetail> parkingDetailsList = parkingDetailsRepository.findAllByParkingOrderByCreatedAtDesc(parking);
 		if (parkingDetailsList.isEmpty())
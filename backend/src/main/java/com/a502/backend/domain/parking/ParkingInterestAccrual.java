@@ -0,0 +1,172 @@
+package com.a502.backend.domain.parking;
+
+import com.a502.backend.domain.stock.RankingBoard;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 파킹통장 하루 이자 일괄 지급
+ * <p>
+ * 1. 지급일의 parking_id 범위를 parallelism 개 구간(partition)으로 나누고 parking_interest_checkpoints 에 남긴다
+ * 2. partition 마다 스레드 하나가 parking_id 순서로 chunk-size 개씩 잠그며 읽는다 (keyset, select for update)
+ * 3. chunk 마다 한 트랜잭션에서 진행 위치를 compare-and-set 으로 옮기고, 잔액 update 와 이자 내역 insert 를 JDBC batch 로 보낸다
+ * 4. 커밋 후 이자를 받은 회원을 RankingBoard 에 표시한다
+ * 같은 날 다시 돌리면 남긴 구간과 진행 위치부터 이어서 돌기 때문에 이미 받은 통장은 두 번 받지 않는다.
+ * lease 를 잃은 이전 실행이 같은 chunk 를 쓰려 해도 진행 위치가 이미 옮겨졌으면 그 chunk 는 롤백된다.
+ * 이자가 0원인 통장은 내역을 남기지 않는다.
+ */
+@Slf4j
+@Component
+public class ParkingInterestAccrual {
+	private static final String COUNTERPARTY_NAME = "쟈수민의 요술 오븐";
+
+	private final ParkingInterestJdbcRepository parkingInterestJdbcRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final RankingBoard rankingBoard;
+	private final int chunkSize;
+	private final int parallelism;
+
+	public ParkingInterestAccrual(ParkingInterestJdbcRepository parkingInterestJdbcRepository,
+								  TransactionTemplate transactionTemplate,
+								  RankingBoard rankingBoard,
+								  @Value("${parking.interest.chunk-size:1000}") int chunkSize,
+								  @Value("${parking.interest.parallelism:4}") int parallelism) {
+		this.parkingInterestJdbcRepository = parkingInterestJdbcRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.rankingBoard = rankingBoard;
+		this.chunkSize = chunkSize;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * @param interestCodeId 이자 내역 코드
+	 * @param beforeChunk    chunk 트랜잭션 안에서 쓰기 전에 부른다 (작업 fence 검사), 예외를 던지면 그 chunk 는 롤백되고 partition 은 멈춘다
+	 * @return 이번에 이자를 준 통장 수
+	 */
+	public int accrue(LocalDate date, String interestCodeId, Runnable beforeChunk) {
+		long start = System.currentTimeMillis();
+		List<int[]> partitions = transactionTemplate.execute(status -> partitions(date));
+		if (partitions == null || partitions.isEmpty())
+			return 0;
+
+		AtomicInteger threadNo = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(partitions.size(),
+				runnable -> new Thread(runnable, "parking-interest-" + threadNo.incrementAndGet()));
+		try {
+			List<Future<Integer>> futures = new ArrayList<>();
+			for (int[] partition : partitions)
+				futures.add(executor.submit(() -> accruePartition(date, partition, interestCodeId, beforeChunk)));
+
+			int paid = 0;
+			RuntimeException failure = null;
+			for (Future<Integer> future : futures) {
+				try {
+					paid += future.get();
+				} catch (ExecutionException e) {
+					if (failure == null)
+						failure = e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("parking interest interrupted", e);
+				}
+			}
+			log.info("parking interest accrued. date : {}, accounts : {}, elapsed : {}ms", date, paid, System.currentTimeMillis() - start);
+			if (failure != null)
+				throw failure;
+			return paid;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * 지급일의 구간을 읽고, 없으면 지금 있는 통장 범위를 나눠서 만든다.
+	 *
+	 * @return [partition_no, to_id, last_id]
+	 */
+	private List<int[]> partitions(LocalDate date) {
+		List<int[]> partitions = parkingInterestJdbcRepository.findCheckpoints(date);
+		if (!partitions.isEmpty())
+			return partitions;
+		int[] range = parkingInterestJdbcRepository.findIdRange();
+		if (range == null)
+			return List.of();
+
+		long size = ((long) range[1] - range[0]) / parallelism + 1;
+		partitions = new ArrayList<>();
+		for (int no = 0; no < parallelism; no++) {
+			long from = range[0] + size * no;
+			if (from > range[1])
+				break;
+			long to = Math.min(from + size, (long) range[1] + 1);
+			partitions.add(new int[]{no, (int) to, (int) from - 1});
+		}
+		parkingInterestJdbcRepository.insertCheckpoints(date, partitions);
+		return partitions;
+	}
+
+	private int accruePartition(LocalDate date, int[] partition, String interestCodeId, Runnable beforeChunk) {
+		int paid = 0;
+		int[] result = {partition[2], 0, 1};
+		while (result[2] == 1) {
+			int afterId = result[0];
+			result = transactionTemplate.execute(status -> {
+				beforeChunk.run();
+				return accrueChunk(date, partition, afterId, interestCodeId);
+			});
+			paid += result[1];
+		}
+		return paid;
+	}
+
+	/**
+	 * @return [마지막 parking_id, 이자를 준 통장 수, 더 읽을 통장이 있으면 1]
+	 */
+	private int[] accrueChunk(LocalDate date, int[] partition, int afterId, String interestCodeId) {
+		List<Object[]> parkings = parkingInterestJdbcRepository.findChunk(afterId, partition[1], chunkSize);
+		if (parkings.isEmpty())
+			return new int[]{afterId, 0, 0};
+
+		LocalDateTime now = LocalDateTime.now();
+		List<Object[]> balances = new ArrayList<>();
+		List<Object[]> details = new ArrayList<>();
+		List<Integer> userIds = new ArrayList<>();
+		for (Object[] parking : parkings) {
+			int balance = (Integer) parking[2];
+			double rate = (Double) parking[3];
+			int interest = interest(balance, rate);
+			if (interest <= 0)
+				continue;
+			balances.add(new Object[]{interest, now, parking[0]});
+			details.add(new Object[]{UUID.randomUUID(), COUNTERPARTY_NAME, interest, balance + interest, rate, parking[0], interestCodeId, now, now});
+			userIds.add((Integer) parking[1]);
+		}
+		int lastId = (Integer) parkings.get(parkings.size() - 1)[0];
+		if (parkingInterestJdbcRepository.saveCheckpoint(date, partition[0], afterId, lastId) == 0)
+			throw new IllegalStateException("parking interest checkpoint moved. date : " + date + ", partition : " + partition[0] + ", after : " + afterId);
+		parkingInterestJdbcRepository.updateBalances(balances);
+		parkingInterestJdbcRepository.insertDetails(details);
+		rankingBoard.markChanged(userIds);
+		return new int[]{lastId, userIds.size(), parkings.size() < chunkSize ? 0 : 1};
+	}
+
+	/**
+	 * 하루 이자 : 잔액 * 연 이율(%) / 365 (원 단위 버림)
+	 */
+	static int interest(int balance, double rate) {
+		return (int) (balance * rate) / 365 / 100;
+	}
+}
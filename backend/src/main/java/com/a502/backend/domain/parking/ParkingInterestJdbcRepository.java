@@ -0,0 +1,77 @@
+package com.a502.backend.domain.parking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 파킹통장 이자 일괄 지급용 JDBC 쿼리
+ * 통장마다 엔티티를 읽고 saveAndFlush / 마지막 내역 조회 / insert 하던 것을 chunk 단위 JDBC batch 로 묶는다.
+ */
+@Repository
+@RequiredArgsConstructor
+class ParkingInterestJdbcRepository {
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * 읽은 통장은 트랜잭션이 끝날 때까지 잠근다. 잔액 update 와 이자 내역의 잔액이 같은 값에서 나오도록 한다.
+	 *
+	 * @return [parking_id, user_id, balance, interest], parking_id 순서
+	 */
+	List<Object[]> findChunk(int afterId, int toId, int limit) {
+		return jdbcTemplate.query("""
+				select parking_id, user_id, balance, interest from parkings
+				where parking_id > ? and parking_id < ?
+				order by parking_id
+				limit ?
+				for update
+				""", (rs, rowNum) -> new Object[]{rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getDouble(4)}, afterId, toId, limit);
+	}
+
+	/**
+	 * @return [최소 parking_id, 최대 parking_id], 통장이 없으면 null
+	 */
+	int[] findIdRange() {
+		return jdbcTemplate.query("select min(parking_id), max(parking_id), count(*) from parkings", rs -> {
+			rs.next();
+			return rs.getLong(3) == 0 ? null : new int[]{rs.getInt(1), rs.getInt(2)};
+		});
+	}
+
+	void updateBalances(List<Object[]> rows) {
+		jdbcTemplate.batchUpdate("update parkings set balance = balance + ?, updated_at = ? where parking_id = ?", rows);
+	}
+
+	void insertDetails(List<Object[]> rows) {
+		jdbcTemplate.batchUpdate("""
+				insert into parking_details (parking_details_uuid, counterparty_name, cnt, amount, balance, ratio, parking_id, code_id, created_at, updated_at, is_deleted)
+				values (?, ?, 0, ?, ?, ?, ?, ?, ?, ?, false)
+				""", rows);
+	}
+
+	/**
+	 * @return [partition_no, to_id, last_id], partition 순서
+	 */
+	List<int[]> findCheckpoints(LocalDate date) {
+		return jdbcTemplate.query("select partition_no, to_id, last_id from parking_interest_checkpoints where accrual_date = ? order by partition_no",
+				(rs, rowNum) -> new int[]{rs.getInt(1), rs.getInt(2), rs.getInt(3)}, date);
+	}
+
+	void insertCheckpoints(LocalDate date, List<int[]> partitions) {
+		jdbcTemplate.batchUpdate("insert into parking_interest_checkpoints (accrual_date, partition_no, to_id, last_id) values (?, ?, ?, ?)",
+				partitions.stream().map(p -> new Object[]{date, p[0], p[1], p[2]}).toList());
+	}
+
+	/**
+	 * 진행 위치가 아직 afterId 일 때만 lastId 로 옮긴다.
+	 *
+	 * @return 갱신한 행 수, 다른 작업이 먼저 옮겼으면 0
+	 */
+	int saveCheckpoint(LocalDate date, int partitionNo, int afterId, int lastId) {
+		return jdbcTemplate.update("update parking_interest_checkpoints set last_id = ? where accrual_date = ? and partition_no = ? and last_id = ?",
+				lastId, date, partitionNo, afterId);
+	}
+}
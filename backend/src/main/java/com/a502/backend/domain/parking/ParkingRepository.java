@@ -5,6 +5,7 @@ import com.a502.backend.application.entity.User;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,4 +20,16 @@ interface ParkingRepository extends JpaRepository<Parking, Integer> {
 
     @Query("select p from Parking p")
     List<Parking> findAll();
+
+    @Modifying
+    @Query("update Parking p set p.reserved = p.reserved + :amount where p.user = :user and p.balance - p.reserved >= :amount")
+    int reserve(User user, int amount);
+
+    @Modifying
+    @Query("update Parking p set p.reserved = p.reserved - :amount where p.user = :user")
+    int release(User user, int amount);
+
+    @Modifying
+    @Query("update Parking p set p.reserved = coalesce((select sum(sb.price * sb.cntNot) from StockBuy sb where sb.user = p.user and sb.code.id = 'S001'), 0)")
+    int rebuildReserved();
 }
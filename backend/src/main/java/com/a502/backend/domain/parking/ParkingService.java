@@ -4,6 +4,7 @@ import com.a502.backend.application.entity.*;
 import com.a502.backend.application.facade.ParkingFacade;
 import com.a502.backend.application.facade.StockFacade;
 import com.a502.backend.domain.stock.StockHoldingsId;
+import com.a502.backend.domain.stock.RankingBoard;
 import com.a502.backend.domain.stock.StockHoldingsService;
 import com.a502.backend.domain.stock.StocksService;
 import com.a502.backend.domain.stock.response.TotalStockList;
@@ -24,6 +25,7 @@ import java.util.List;
 @Service
 public class ParkingService {
     private final ParkingRepository parkingRepository;
+    private final RankingBoard rankingBoard;
 
     public Parking findById(int id) {
         return parkingRepository.findById(id).orElseThrow(() -> BusinessException.of(ErrorCode.API_ERROR_PARKING_NOT_EXIST));
@@ -35,11 +37,6 @@ public class ParkingService {
         return parkingRepository.findByUser(user).orElseThrow(() -> BusinessException.of(ErrorCode.API_ERROR_PARKING_NOT_EXIST));
     }
 
-    @Transactional
-    public List<Parking> findAllList(){
-        return parkingRepository.findAll();
-    }
-
     @Transactional
     public int getParkingBalance(User user) {
         Parking parking = findByUser(user);
@@ -51,12 +48,31 @@ public class ParkingService {
         Parking parking = findByUser(user);
         parking.setBalance(balance);
         parkingRepository.saveAndFlush(parking);
+        rankingBoard.markChanged(user.getId());
     }
 
+    /**
+     * 매수 주문 금액을 파킹통장에 묶는 메서드
+     * 잔액에서 이미 묶인 금액을 뺀 만큼만 묶을 수 있다.
+     */
     @Transactional
-    public void updateParkingBalance(Parking parking, int balance) {
-        parking.setBalance(balance);
-        parkingRepository.saveAndFlush(parking);
+    public void reserve(User user, int amount) {
+        if (parkingRepository.reserve(user, amount) == 0)
+            throw BusinessException.of(ErrorCode.API_ERROR_PARKING_NOT_ENOUGH_BALANCE);
+    }
+
+    @Transactional
+    public void release(User user, int amount) {
+        if (amount > 0)
+            parkingRepository.release(user, amount);
+    }
+
+    /**
+     * 묶인 금액을 거래중인 매수 주문으로 다시 계산하는 메서드
+     */
+    @Transactional
+    public void rebuildReserved() {
+        parkingRepository.rebuildReserved();
     }
 
     public void saveParkingAccount(Parking newParkingAccount) {
@@ -72,7 +88,8 @@ public class ParkingService {
                 .balance(100000)
                 .build();
 
-         return parkingRepository.save(newParkingAccount);
+        rankingBoard.markChanged(user.getId());
+        return parkingRepository.save(newParkingAccount);
     }
 
 }
@@ -2,26 +2,46 @@ package com.a502.backend.domain.savings;
 
 import com.a502.backend.application.entity.Savings;
 import com.a502.backend.application.entity.User;
+import com.a502.backend.global.common.NearCache;
 import com.a502.backend.global.error.BusinessException;
 import com.a502.backend.global.exception.ErrorCode;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * 적금 상품 조회
+ * <p>
+ * 상품 조회, 가입마다 읽히는 적금 상품을 id/UUID 별 캐시에 들고 있는다.
+ * 캐시 크기와 유효 시간은 product-cache 설정을 따르고, 저장/삭제하면 해당 상품을 캐시에서 지운다.
+ * 캐시된 상품은 영속성 컨텍스트 밖의 객체이므로 바꿀 때는 delete 처럼 이 서비스를 거쳐 저장한다.
+ */
 @Service
-@RequiredArgsConstructor
 public class SavingsService {
 	private final SavingsRepository savingsRepository;
+	private final NearCache<Integer, Savings> byId;
+	private final NearCache<UUID, Savings> byUuid;
+
+	public SavingsService(SavingsRepository savingsRepository,
+						  @Value("${product-cache.max-size:1000}") int maxSize,
+						  @Value("${product-cache.ttl-ms:600000}") long ttlMs) {
+		this.savingsRepository = savingsRepository;
+		this.byId = new NearCache<>(maxSize, Duration.ofMillis(ttlMs));
+		this.byUuid = new NearCache<>(maxSize, Duration.ofMillis(ttlMs));
+	}
 
 	public Savings findById(int id) {
-		return savingsRepository.findById(id).orElseThrow(() -> BusinessException.of(ErrorCode.API_ERROR_SAVINGS_NOT_EXIST));
+		return byId.get(id, key -> cache(savingsRepository.findById(key)
+				.orElseThrow(() -> BusinessException.of(ErrorCode.API_ERROR_SAVINGS_NOT_EXIST))));
 	}
 
 	public Savings findByUuid(String savingsUuid) {
 		UUID uuid = UUID.fromString(savingsUuid);
-		Savings savings = savingsRepository.findSavingsListByUuid(uuid).orElseThrow(() -> BusinessException.of(ErrorCode.API_ERROR_SAVINGS_NOT_EXIST));
+		Savings savings = byUuid.get(uuid, key -> cache(savingsRepository.findSavingsListByUuid(key)
+				.orElseThrow(() -> BusinessException.of(ErrorCode.API_ERROR_SAVINGS_NOT_EXIST))));
 		if (savings.isDeleted())
 			throw BusinessException.of(ErrorCode.API_ERROR_SAVINGS_NOT_EXIST);
 		return savings;
@@ -29,6 +49,16 @@ public class SavingsService {
 
 	public void save(Savings savings) {
 		savingsRepository.save(savings);
+		evict(savings);
+	}
+
+	/**
+	 * 적금 상품 삭제 (캐시된 객체여도 저장되도록 merge 한다)
+	 */
+	public void delete(Savings savings) {
+		savings.delete();
+		savingsRepository.save(savings);
+		evict(savings);
 	}
 
 	public List<Savings> findAllByParents(User parents) {
@@ -37,4 +67,16 @@ public class SavingsService {
 			throw BusinessException.of(ErrorCode.API_ERROR_SAVINGS_NOT_EXIST);
 		return savingsList;
 	}
+
+	private void evict(Savings savings) {
+		byId.evictAfterCommit(savings.getId());
+		if (savings.getSavingUuid() != null)
+			byUuid.evictAfterCommit(savings.getSavingUuid());
+	}
+
+	private Savings cache(Savings savings) {
+		byId.put(savings.getId(), savings);
+		byUuid.put(savings.getSavingUuid(), savings);
+		return savings;
+	}
 }
@@ -0,0 +1,162 @@
+package com.a502.backend.domain.stock;
+
+import com.a502.backend.application.entity.Stock;
+import com.a502.backend.application.entity.StockDailyStat;
+import com.a502.backend.application.entity.StockDetail;
+import com.a502.backend.global.common.AfterCommit;
+import com.a502.backend.global.error.BusinessException;
+import com.a502.backend.global.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * 종목별 시세 스냅샷 (현재가, 시가, 최고/최저가, 상/하한가, 오늘 거래 집계, 이미지)
+ * <p>
+ * 읽기는 volatile 로 걸어둔 불변 Map 을 그대로 읽으므로 lock 도 DB 조회도 없다.
+ * 쓰기는 새 Map 을 만들어 통째로 바꾼다 (copy-on-write). 종목 수가 적어서 복사 비용은 무시할 만하다.
+ * <p>
+ * 1. 체결 : 종목 스레드 트랜잭션이 커밋되면 그 StockDetail 로 시세를 바꾼다
+ * 2. 체결 저장 : StockFillWriter batch 가 커밋되면 오늘 거래 집계를 다시 읽는다
+ * 3. 장 시작 : 새 StockDetail 로 전체를 다시 읽는다
+ * 처음 읽을 때 DB 에서 한 번 채우고, 이미 체결로 들어온 종목의 시세는 덮어쓰지 않는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class MarketSnapshot {
+	private final StocksService stocksService;
+	private final StockDetailsService stockDetailsService;
+	private final StockDailyStatService stockDailyStatService;
+
+	private volatile Quotes quotes = Quotes.EMPTY;
+	private volatile boolean loaded;
+
+	private record Quotes(Map<Integer, StockQuote> byId, Map<String, StockQuote> byName) {
+		static final Quotes EMPTY = new Quotes(Map.of(), Map.of());
+
+		static Quotes of(Map<Integer, StockQuote> byId) {
+			Map<String, StockQuote> byName = new HashMap<>();
+			byId.values().forEach(quote -> byName.put(quote.name(), quote));
+			return new Quotes(Collections.unmodifiableMap(byId), Collections.unmodifiableMap(byName));
+		}
+	}
+
+	/**
+	 * 전체 종목 시세 (종목 id 순)
+	 */
+	public Collection<StockQuote> getAll() {
+		return quotes().byId().values();
+	}
+
+	public StockQuote get(int stockId) {
+		StockQuote quote = quotes().byId().get(stockId);
+		return quote != null ? quote : load(stocksService.findById(stockId));
+	}
+
+	public StockQuote getByName(String name) {
+		StockQuote quote = quotes().byName().get(name);
+		return quote != null ? quote : load(stocksService.findByName(name));
+	}
+
+	/**
+	 * 현재 트랜잭션이 커밋되면 detail 로 시세를 바꾸는 메서드 (종목 스레드에서 체결 후 호출)
+	 */
+	public void updateAfterCommit(Stock stock, StockDetail detail) {
+		StockQuote latest = StockQuote.of(stock, detail);
+		AfterCommit.run(() -> update(stock.getId(), quote -> quote == null ? latest : quote.withPrices(latest)));
+	}
+
+	/**
+	 * 오늘 거래 집계를 DB 에서 다시 읽어 반영하는 메서드 (체결 저장 batch 커밋 후 호출)
+	 * 이미 커밋된 batch 를 다시 저장하지 않도록 실패는 로그만 남기고, 다음 batch 에서 다시 읽는다.
+	 */
+	public void refreshStats() {
+		try {
+			LocalDate today = LocalDate.now();
+			for (StockDailyStat stat : stockDailyStatService.getTodayStats())
+				update(stat.getStock().getId(), quote -> quote == null ? null : quote.withStat(today, stat.getVolume(), stat.getTurnover(), stat.getTradeCnt()));
+		} catch (RuntimeException e) {
+			log.warn("market snapshot stats refresh failed. message : {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * 전체 종목을 DB 에서 다시 읽는 메서드 (장 시작 시 호출)
+	 */
+	public synchronized void reload() {
+		quotes = Quotes.of(read(Map.of()));
+		loaded = true;
+		log.info("market snapshot reloaded. stocks : {}", quotes.byId().size());
+	}
+
+	/**
+	 * 처음 읽을 때 전체를 채운다. 읽는 동안 들어온 쓰기는 같은 lock 에서 기다렸다가 그 위에 반영된다.
+	 */
+	private Quotes quotes() {
+		if (!loaded) {
+			synchronized (this) {
+				if (!loaded) {
+					quotes = Quotes.of(read(quotes.byId()));
+					loaded = true;
+				}
+			}
+		}
+		return quotes;
+	}
+
+	/**
+	 * 스냅샷에 없는 종목 하나를 DB 에서 읽어 넣는 메서드 (처음 읽은 뒤 새로 생긴 종목)
+	 * 읽는 동안 들어온 거래 집계를 덮어쓰지 않도록 쓰기와 같은 lock 을 잡는다.
+	 */
+	private synchronized StockQuote load(Stock stock) {
+		StockDetail detail = stockDetailsService.getLastDetail(stock);
+		if (detail == null)
+			throw BusinessException.of(ErrorCode.API_ERROR_STOCK_DETAIL_NOT_EXIST);
+		LocalDate today = LocalDate.now();
+		StockQuote loaded = stockDailyStatService.findToday(stock)
+				.map(stat -> StockQuote.of(stock, detail).withStat(today, stat.getVolume(), stat.getTurnover(), stat.getTradeCnt()))
+				.orElse(StockQuote.of(stock, detail));
+		return update(stock.getId(), quote -> quote == null ? loaded : quote);
+	}
+
+	/**
+	 * 전체 종목 시세를 DB 에서 읽는 메서드
+	 *
+	 * @param current 이미 들어와 있는 시세 (체결로 더 최신이므로 시세 대신 이것을 쓴다)
+	 */
+	private Map<Integer, StockQuote> read(Map<Integer, StockQuote> current) {
+		LocalDate today = LocalDate.now();
+		Map<Integer, StockDailyStat> stats = new HashMap<>();
+		stockDailyStatService.getTodayStats().forEach(stat -> stats.put(stat.getStock().getId(), stat));
+
+		Map<Integer, StockQuote> byId = new TreeMap<>();
+		for (Stock stock : stocksService.findAllList()) {
+			StockQuote quote = current.get(stock.getId());
+			if (quote == null) {
+				StockDetail detail = stockDetailsService.getLastDetail(stock);
+				if (detail == null)
+					continue;
+				quote = StockQuote.of(stock, detail);
+			}
+			StockDailyStat stat = stats.get(stock.getId());
+			byId.put(stock.getId(), stat == null ? quote : quote.withStat(today, stat.getVolume(), stat.getTurnover(), stat.getTradeCnt()));
+		}
+		return byId;
+	}
+
+	private synchronized StockQuote update(int stockId, UnaryOperator<StockQuote> change) {
+		StockQuote current = quotes.byId().get(stockId);
+		StockQuote next = change.apply(current);
+		if (next == null || next == current)
+			return current;
+		Map<Integer, StockQuote> byId = new TreeMap<>(quotes.byId());
+		byId.put(stockId, next);
+		quotes = Quotes.of(byId);
+		return next;
+	}
+}
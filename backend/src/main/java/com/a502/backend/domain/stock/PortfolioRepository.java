@@ -0,0 +1,44 @@
+package com.a502.backend.domain.stock;
+
+import com.a502.backend.application.entity.Parking;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 회원별 자산 평가 조회
+ * <p>
+ * 평가 쿼리는 파킹통장 x 보유 주식 x 종목별 최신 StockDetail 가격을 DB 에서 join 해서 회원별로 합친다.
+ * 전체 회원은 stream 으로 읽어 한 번의 쿼리로 끝내고, 회원 몇 명만 필요하면 id 로 거른다.
+ * 보유 주식 조회 결과는 [회원 id, 종목 id, 보유 수량] 순서의 배열이다.
+ */
+interface PortfolioRepository extends Repository<Parking, Integer> {
+	String VALUATION = """
+			select new com.a502.backend.domain.stock.PortfolioValuation(p.user.id, p.user.userUuid, p.user.name, p.balance,
+				coalesce(sum(cast(sh.cnt as Long) * sd.price), 0L), coalesce(sum(cast(sh.total as Long)), 0L))
+			from Parking p
+			left join StockHolding sh on sh.user = p.user and sh.cnt > 0
+			left join StockDetail sd on sd.stock = sh.stock
+				and sd.createdAt = (select max(latest.createdAt) from StockDetail latest where latest.stock = sh.stock)
+			""";
+	String GROUP_BY = " group by p.user.id, p.user.userUuid, p.user.name, p.balance";
+
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+	@Query(VALUATION + GROUP_BY)
+	Stream<PortfolioValuation> streamAllValuations();
+
+	@Query(VALUATION + " where p.user.id in :userIds" + GROUP_BY)
+	List<PortfolioValuation> findValuations(Collection<Integer> userIds);
+
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+	@Query("select sh.user.id, sh.stock.id, sh.cnt from StockHolding sh where sh.cnt > 0")
+	Stream<Object[]> streamAllHoldings();
+
+	@Query("select sh.user.id, sh.stock.id, sh.cnt from StockHolding sh where sh.cnt > 0 and sh.user.id in :userIds")
+	List<Object[]> findHoldings(Collection<Integer> userIds);
+}
@@ -0,0 +1,23 @@
+package com.a502.backend.domain.stock;
+
+import java.util.UUID;
+
+/**
+ * 회원 한 명의 자산 평가 (PortfolioRepository 의 평가 쿼리 결과)
+ *
+ * @param stockValue 보유 주식 수 x 종목별 최신 StockDetail 가격의 합
+ * @param stockCost  보유 주식의 총 매수가 합
+ */
+public record PortfolioValuation(int userId, UUID userUuid, String userName, int balance, long stockValue, long stockCost) {
+
+	/**
+	 * 랭킹 점수 (파킹통장 잔액 + 주식 평가금액)
+	 */
+	public long total() {
+		return balance + stockValue;
+	}
+
+	public long income() {
+		return stockValue - stockCost;
+	}
+}
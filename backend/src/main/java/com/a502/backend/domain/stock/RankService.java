@@ -2,39 +2,356 @@ package com.a502.backend.domain.stock;
 
 import com.a502.backend.application.entity.RankingDetail;
 import com.a502.backend.application.entity.User;
+import com.a502.backend.domain.stock.response.RankingPageResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
 
+/**
+ * 랭킹 Redis 저장소
+ * <p>
+ * ranking : 회원 UUID 별 점수 (sorted set)
+ * ranking:scores : 지금 랭킹에 있는 서로 다른 점수 (sorted set, member 와 score 가 모두 점수)
+ * ranking:score-counts : 점수별 회원 수 (hash), 마지막 회원이 빠진 점수를 ranking:scores 에서 지우는 데 쓴다
+ * ranking:names : 회원 UUID 별 이름 (hash), 점수와 같은 pipeline 으로 쓴다
+ * ranking:generation : 랭킹을 바꿀 때마다 1 씩 올리는 번호
+ * <p>
+ * 순위는 동점자를 같은 순위로 하고 다음 순위를 건너뛰지 않는다 (dense rank).
+ * 점수 s 의 순위는 ranking:scores 에서 s 보다 큰 점수의 개수(ZCOUNT) + 1 이라서, 몇 번째 페이지든 랭킹을 앞에서부터 읽지 않고 Redis 안에서 구한다.
+ * 세 키를 함께 바꾸는 쓰기와 페이지 읽기는 Lua 스크립트로 보내서 중간 상태를 보지 않는다.
+ * 1 ~ 10위 응답은 번호가 바뀔 때까지 서버 메모리에 들고 있어서, 조회는 번호를 읽는 Redis 호출 한 번으로 끝난다.
+ */
 @RequiredArgsConstructor
 @Service
 public class RankService {
 
     private final RedisTemplate<String, String> redisTemplate;
     private final String RANKING_KEY = "ranking";
+    private final String SCORES_KEY = "ranking:scores";
+    private final String SCORE_COUNTS_KEY = "ranking:score-counts";
+    private final String NAMES_KEY = "ranking:names";
+    private final String GENERATION_KEY = "ranking:generation";
+    private static final Duration STAGING_TTL = Duration.ofHours(1);
+    private static final int TOP_SIZE = 10;
+    public static final int MAX_PAGE_SIZE = 100;
 
-    public void deleteRanking(){
-        redisTemplate.delete(RANKING_KEY);
+    /**
+     * KEYS : ranking, ranking:scores, ranking:score-counts
+     * ARGV : 회원 UUID, 점수, 회원 UUID, 점수, ...
+     * 점수가 바뀐 회원만 옛 점수의 회원 수를 줄이고 (0 이 되면 그 점수를 지운다) 새 점수의 회원 수를 늘린다.
+     */
+    private static final RedisScript<Long> UPDATE_SCRIPT = RedisScript.of("""
+            for i = 1, #ARGV, 2 do
+                local member, score = ARGV[i], ARGV[i + 1]
+                local old = redis.call('ZSCORE', KEYS[1], member)
+                if not old or tonumber(old) ~= tonumber(score) then
+                    if old and redis.call('HINCRBY', KEYS[3], old, -1) <= 0 then
+                        redis.call('HDEL', KEYS[3], old)
+                        redis.call('ZREM', KEYS[2], old)
+                    end
+                    redis.call('ZADD', KEYS[1], score, member)
+                    if redis.call('HINCRBY', KEYS[3], score, 1) == 1 then
+                        redis.call('ZADD', KEYS[2], score, score)
+                    end
+                end
+            end
+            return #ARGV / 2
+            """, Long.class);
+
+    /**
+     * KEYS : 임시 ranking, 임시 ranking:scores, 임시 ranking:score-counts, ranking, ranking:scores, ranking:score-counts
+     */
+    private static final RedisScript<Long> SWAP_SCRIPT = RedisScript.of("""
+            for i = 1, 3 do
+                redis.call('RENAME', KEYS[i], KEYS[i + 3])
+                redis.call('PERSIST', KEYS[i + 3])
+            end
+            return 3
+            """, Long.class);
+
+    /**
+     * KEYS : ranking, ranking:scores, ranking:names
+     * ARGV : 시작 위치(0 부터), 개수, [회원 UUID]
+     * 회원 UUID 를 주면 그 회원이 가운데 오도록 시작 위치를 옮긴다. 랭킹에 없는 회원이면 빈 결과다.
+     * 결과 : 시작 위치, 전체 회원 수, (회원 UUID, 점수, 이름, 순위) * 페이지 크기
+     * 첫 줄의 순위만 ZCOUNT 로 구하고, 나머지는 점수가 바뀔 때마다 1 씩 올린다.
+     */
+    private static final RedisScript<List<String>> PAGE_SCRIPT = stringListScript("""
+            local start, count = tonumber(ARGV[1]), tonumber(ARGV[2])
+            if ARGV[3] then
+                local index = redis.call('ZREVRANK', KEYS[1], ARGV[3])
+                if not index then
+                    return {}
+                end
+                start = math.max(0, index - math.floor(count / 2))
+            end
+            local total = redis.call('ZCARD', KEYS[1])
+            local result = {tostring(start), tostring(total)}
+            local page = redis.call('ZREVRANGE', KEYS[1], start, start + count - 1, 'WITHSCORES')
+            if #page == 0 then
+                return result
+            end
+            local rank = redis.call('ZCOUNT', KEYS[2], '(' .. page[2], '+inf') + 1
+            for i = 1, #page, 2 do
+                if i > 1 and tonumber(page[i + 1]) ~= tonumber(page[i - 1]) then
+                    rank = rank + 1
+                end
+                local name = redis.call('HGET', KEYS[3], page[i])
+                table.insert(result, page[i])
+                table.insert(result, page[i + 1])
+                table.insert(result, name or '')
+                table.insert(result, tostring(rank))
+            end
+            return result
+            """);
+
+    /**
+     * KEYS : ranking, ranking:scores
+     * ARGV : 회원 UUID
+     * 결과 : 점수, 순위 (랭킹에 없으면 빈 결과)
+     */
+    private static final RedisScript<List<String>> USER_SCRIPT = stringListScript("""
+            local score = redis.call('ZSCORE', KEYS[1], ARGV[1])
+            if not score then
+                return {}
+            end
+            return {score, tostring(redis.call('ZCOUNT', KEYS[2], '(' .. score, '+inf') + 1)}
+            """);
+
+    /**
+     * 문자열 배열을 돌려주는 Lua 스크립트. 결과는 StringRedisSerializer 로 읽으므로 원소는 모두 문자열이다.
+     */
+    @SuppressWarnings("unchecked")
+    private static RedisScript<List<String>> stringListScript(String script) {
+        return (RedisScript<List<String>>) (RedisScript<?>) RedisScript.of(script, List.class);
     }
-    public void addUserScore(User user, double score) {
-        redisTemplate.opsForZSet().add(RANKING_KEY, user.getUserUuid().toString(), score);
-        redisTemplate.expire(RANKING_KEY, 1, TimeUnit.HOURS);
+
+    @Value("${ranking.batch-size:1000}")
+    private int batchSize;
+
+    private volatile TopRankings topRankings;
+
+    /**
+     * @param members 순위 순서의 회원 UUID (details 와 같은 순서)
+     */
+    private record TopRankings(String generation, List<String> members, List<RankingDetail> details) {
     }
 
-    public Set<ZSetOperations.TypedTuple<String>> getTop10Users() {
-        return redisTemplate.opsForZSet().reverseRangeWithScores(RANKING_KEY, 0, 9);
+    /**
+     * @param members 순위 순서의 회원 UUID (ranks 와 같은 순서), 응답에는 내보내지 않는다
+     */
+    private record Page(int offset, long total, List<String> members, List<RankingDetail> ranks) {
+        private static final Page EMPTY = new Page(0, 0, List.of(), List.of());
+
+        private RankingPageResponse toResponse() {
+            return RankingPageResponse.of(offset, total, ranks);
+        }
     }
 
-    public double getUserScore(User user) {
-        return redisTemplate.opsForZSet().score(RANKING_KEY, user.getUserUuid().toString());
+    /**
+     * 회원 UUID 별 점수를 반영하는 메서드
+     * batch-size 명씩 묶어 점수 색인과 함께 Lua 스크립트로 바꾸고, 이름 HSET 은 pipeline 으로 한 번에 보낸다.
+     * 랭킹은 RankingBoard 가 계속 갱신하므로 만료시키지 않는다.
+     *
+     * @param names 이름이 새로 바뀐 회원만 넣는다
+     */
+    public void addUserScores(Map<String, Double> scores, Map<String, String> names) {
+        if (scores.isEmpty())
+            return;
+        if (!names.isEmpty())
+            redisTemplate.executePipelined(writeNames(names));
+        List<String> keys = List.of(RANKING_KEY, SCORES_KEY, SCORE_COUNTS_KEY);
+        List<String> args = new ArrayList<>();
+        for (Map.Entry<String, Double> score : scores.entrySet()) {
+            args.add(score.getKey());
+            args.add(format(score.getValue()));
+            if (args.size() == batchSize * 2) {
+                redisTemplate.execute(UPDATE_SCRIPT, keys, args.toArray());
+                args.clear();
+            }
+        }
+        if (!args.isEmpty())
+            redisTemplate.execute(UPDATE_SCRIPT, keys, args.toArray());
+        redisTemplate.opsForValue().increment(GENERATION_KEY);
     }
 
-    public Long getUserRank(User user) {
-        return redisTemplate.opsForZSet().reverseRank(RANKING_KEY, user.getUserUuid().toString());
+    /**
+     * 랭킹 전체를 scores 로 바꾸는 메서드
+     * 임시 키에 점수와 점수 색인을 pipeline 으로 모두 넣은 뒤 Lua 스크립트의 RENAME 으로 세 키를 한 번에 바꾸므로 읽는 쪽은 만들다 만 랭킹을 보지 않는다.
+     * 임시 키는 실패해서 남더라도 지워지도록 만료 시간을 걸고, 바꾼 뒤에는 만료 시간을 없앤다.
+     * 이름은 바꾸기 전에 같은 hash 에 덮어쓰므로 새 랭킹의 회원은 항상 이름이 있다.
+     */
+    public void replaceScores(Map<String, Double> scores, Map<String, String> names) {
+        if (scores.isEmpty()) {
+            redisTemplate.delete(List.of(RANKING_KEY, SCORES_KEY, SCORE_COUNTS_KEY));
+        } else {
+            String suffix = ":staging:" + UUID.randomUUID();
+            List<String> keys = List.of(RANKING_KEY + suffix, SCORES_KEY + suffix, SCORE_COUNTS_KEY + suffix,
+                    RANKING_KEY, SCORES_KEY, SCORE_COUNTS_KEY);
+            redisTemplate.executePipelined(writeNames(names));
+            redisTemplate.executePipelined(writeStaging(keys, scores));
+            redisTemplate.execute(SWAP_SCRIPT, keys);
+        }
+        redisTemplate.opsForValue().increment(GENERATION_KEY);
     }
 
+    private SessionCallback<Object> writeNames(Map<String, String> names) {
+        return new SessionCallback<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                HashOperations<String, String, String> hash = ((RedisOperations<String, String>) operations).opsForHash();
+                Map<String, String> batch = new HashMap<>();
+                for (Map.Entry<String, String> name : names.entrySet()) {
+                    batch.put(name.getKey(), name.getValue());
+                    if (batch.size() == batchSize) {
+                        hash.putAll(NAMES_KEY, batch);
+                        batch = new HashMap<>();
+                    }
+                }
+                if (!batch.isEmpty())
+                    hash.putAll(NAMES_KEY, batch);
+                return null;
+            }
+        };
+    }
+
+    /**
+     * @param keys 임시 ranking, 임시 ranking:scores, 임시 ranking:score-counts 순서
+     */
+    private SessionCallback<Object> writeStaging(List<String> keys, Map<String, Double> scores) {
+        return new SessionCallback<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> stringOperations = (RedisOperations<String, String>) operations;
+                ZSetOperations<String, String> zSet = stringOperations.opsForZSet();
+                Map<String, Long> counts = new HashMap<>();
+                Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+                for (Map.Entry<String, Double> score : scores.entrySet()) {
+                    tuples.add(ZSetOperations.TypedTuple.of(score.getKey(), score.getValue()));
+                    counts.merge(format(score.getValue()), 1L, Long::sum);
+                    if (tuples.size() == batchSize) {
+                        zSet.add(keys.get(0), tuples);
+                        tuples = new HashSet<>();
+                    }
+                }
+                if (!tuples.isEmpty())
+                    zSet.add(keys.get(0), tuples);
+
+                tuples = new HashSet<>();
+                HashOperations<String, String, String> hash = stringOperations.opsForHash();
+                Map<String, String> batch = new HashMap<>();
+                for (Map.Entry<String, Long> count : counts.entrySet()) {
+                    tuples.add(ZSetOperations.TypedTuple.of(count.getKey(), Double.valueOf(count.getKey())));
+                    batch.put(count.getKey(), count.getValue().toString());
+                    if (batch.size() == batchSize) {
+                        zSet.add(keys.get(1), tuples);
+                        hash.putAll(keys.get(2), batch);
+                        tuples = new HashSet<>();
+                        batch = new HashMap<>();
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    zSet.add(keys.get(1), tuples);
+                    hash.putAll(keys.get(2), batch);
+                }
+
+                for (int i = 0; i < 3; i++)
+                    operations.expire((K) keys.get(i), STAGING_TTL);
+                return null;
+            }
+        };
+    }
+
+    /**
+     * 점수는 원 단위 정수라서 정수 문자열로 보낸다. Redis 가 돌려주는 점수 문자열과 같아서 점수별 회원 수의 field 로도 쓴다.
+     */
+    private static String format(Double score) {
+        return Long.toString(score.longValue());
+    }
+
+    /**
+     * 랭킹 1 ~ 10위 조회 메서드
+     */
+    public List<RankingDetail> getTop10Rankings() {
+        return getTopRankings().details();
+    }
+
+    /**
+     * 랭킹 페이지 조회 메서드
+     *
+     * @param offset 0 부터 시작하는 위치
+     * @param limit  1 ~ MAX_PAGE_SIZE
+     */
+    public RankingPageResponse getRankingPage(int offset, int limit) {
+        return page(List.of(Integer.toString(offset), Integer.toString(limit))).toResponse();
+    }
+
+    /**
+     * 회원이 가운데 오도록 limit 명을 읽는 메서드
+     * 랭킹에 없는 회원이면 빈 페이지다.
+     */
+    public RankingPageResponse getRankingAround(User user, int limit) {
+        return page(List.of("0", Integer.toString(limit), user.getUserUuid().toString())).toResponse();
+    }
+
+    private Page page(List<String> args) {
+        List<String> result = redisTemplate.execute(PAGE_SCRIPT, List.of(RANKING_KEY, SCORES_KEY, NAMES_KEY), args.toArray());
+        if (result == null || result.isEmpty())
+            return Page.EMPTY;
+        List<RankingDetail> ranks = new ArrayList<>();
+        List<String> members = new ArrayList<>();
+        for (int i = 2; i + 3 < result.size(); i += 4) {
+            members.add(result.get(i));
+            ranks.add(RankingDetail.builder()
+                    .childName(result.get(i + 2))
+                    .balance(Double.valueOf(result.get(i + 1)).intValue())
+                    .rank(Integer.parseInt(result.get(i + 3)))
+                    .build());
+        }
+        return new Page(Integer.parseInt(result.get(0)), Long.parseLong(result.get(1)), members, ranks);
+    }
+
+    /**
+     * 회원 랭킹 조회 메서드
+     * 10위 안이면 1 ~ 10위 응답의 순위를 그대로 쓰고, 아니면 점수와 순위를 한 번의 Lua 스크립트로 읽는다.
+     * 랭킹에 없는 회원은 0위, 0원이다.
+     */
+    public RankingDetail getUserRanking(User user) {
+        String member = user.getUserUuid().toString();
+        TopRankings top = getTopRankings();
+        int index = top.members().indexOf(member);
+        if (index >= 0)
+            return top.details().get(index);
+
+        List<String> result = redisTemplate.execute(USER_SCRIPT, List.of(RANKING_KEY, SCORES_KEY), member);
+        boolean ranked = result != null && result.size() == 2;
+        return RankingDetail.builder()
+                .childName(user.getName())
+                .balance(ranked ? Double.valueOf(result.get(0)).intValue() : 0)
+                .rank(ranked ? Integer.parseInt(result.get(1)) : 0)
+                .build();
+    }
+
+    private TopRankings getTopRankings() {
+        String generation = Objects.requireNonNullElse(redisTemplate.opsForValue().get(GENERATION_KEY), "0");
+        TopRankings cached = topRankings;
+        if (cached != null && cached.generation().equals(generation))
+            return cached;
+
+        Page page = page(List.of("0", Integer.toString(TOP_SIZE)));
+        TopRankings loaded = new TopRankings(generation, List.copyOf(page.members()), List.copyOf(page.ranks()));
+        topRankings = loaded;
+        return loaded;
+    }
 }
@@ -0,0 +1,213 @@
+package com.a502.backend.domain.stock;
+
+import com.a502.backend.global.common.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 랭킹 점수 (파킹통장 잔액 + 보유 주식 평가금액) 를 바뀐 회원만 다시 계산해서 Redis 에 반영한다.
+ * <p>
+ * 회원별 잔액과 보유 주식 수를 메모리에 들고 있고, 종목별 보유 회원 목록도 함께 유지한다.
+ * 1. 체결/잔액 변경 : 커밋 후 회원 id 만 표시해 두고, flush 때 그 회원들만 DB 평가 쿼리(PortfolioRepository)로 다시 읽는다
+ * 2. 가격 변동 : flush 때 MarketSnapshot 의 현재가를 직전 계산에 쓴 가격과 비교해서 바뀐 종목의 보유 회원만 메모리에서 다시 계산한다
+ * 바뀐 점수는 flush 마다 pipeline 으로 한 번에 보내고 (DB 에서 다시 읽은 회원은 이름도 함께), 랭킹 키를 지우지 않으므로 읽는 쪽은 빈 랭킹을 보지 않는다.
+ * 상태는 flush/rebuild 에서만 바꾸므로 두 메서드는 synchronized 로 묶는다.
+ * 서버가 뜨면 전체 회원 평가를 한 번의 stream 쿼리로 읽어 다시 만들고, 이때는 임시 키에 모두 넣은 뒤 RENAME 으로 바꾼다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class RankingBoard {
+	private static final int CHUNK_SIZE = 1000;
+
+	private final PortfolioRepository portfolioRepository;
+	private final RankService rankService;
+	private final MarketSnapshot marketSnapshot;
+	private final TransactionTemplate transactionTemplate;
+
+	private final Set<Integer> changedUsers = ConcurrentHashMap.newKeySet();
+	private final Map<Integer, Portfolio> portfolios = new HashMap<>();
+	private final Map<Integer, Set<Integer>> holders = new HashMap<>();
+	// Redis 반영에 실패해서 다음 flush 에 다시 보낼 회원
+	private final Set<Integer> unsentUsers = new HashSet<>();
+	private Map<Integer, Integer> valuedPrices = Map.of();
+	private boolean loaded;
+
+	@Value("${ranking.enabled:true}")
+	private boolean enabled;
+
+	private static final class Portfolio {
+		private final String member;
+		private final int balance;
+		private final Map<Integer, Integer> holdings = new HashMap<>();
+
+		private Portfolio(String member, int balance) {
+			this.member = member;
+			this.balance = balance;
+		}
+
+		private double score(Map<Integer, Integer> prices) {
+			long score = balance;
+			for (Map.Entry<Integer, Integer> holding : holdings.entrySet())
+				score += (long) holding.getValue() * prices.getOrDefault(holding.getKey(), 0);
+			return score;
+		}
+	}
+
+	/**
+	 * 잔액이나 보유 주식이 바뀐 회원을 표시하는 메서드 (트랜잭션 안이면 커밋 후에 표시한다)
+	 */
+	public void markChanged(int userId) {
+		markChanged(List.of(userId));
+	}
+
+	public void markChanged(Collection<Integer> userIds) {
+		if (!enabled || userIds.isEmpty())
+			return;
+		AfterCommit.run(() -> changedUsers.addAll(userIds));
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		try {
+			flush();
+		} catch (RuntimeException e) {
+			log.warn("ranking load failed. message : {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * 표시된 회원과 가격이 바뀐 종목의 보유 회원 점수를 다시 계산해서 반영하는 메서드
+	 * 아직 한 번도 만들지 못했으면 전체를 다시 만든다.
+	 */
+	@Scheduled(fixedDelayString = "${ranking.flush-interval-ms:1000}")
+	public synchronized void flush() {
+		if (!enabled)
+			return;
+		if (!loaded) {
+			rebuild();
+			return;
+		}
+		Set<Integer> dirty = new HashSet<>(unsentUsers);
+		unsentUsers.clear();
+		Map<String, Double> scores = new HashMap<>();
+		Map<String, String> names = new HashMap<>();
+
+		List<Integer> changed = new ArrayList<>();
+		for (Iterator<Integer> it = changedUsers.iterator(); it.hasNext(); ) {
+			changed.add(it.next());
+			it.remove();
+		}
+		try {
+			for (int from = 0; from < changed.size(); from += CHUNK_SIZE) {
+				List<Integer> chunk = changed.subList(from, Math.min(from + CHUNK_SIZE, changed.size()));
+				List<PortfolioValuation> valuations = portfolioRepository.findValuations(chunk);
+				List<Object[]> holdings = portfolioRepository.findHoldings(chunk);
+				chunk.forEach(this::remove);
+				valuations.forEach(valuation -> put(valuation, scores, names));
+				holdings.forEach(this::put);
+			}
+		} catch (RuntimeException e) {
+			// 다음 flush 에 다시 읽는다
+			changedUsers.addAll(changed);
+			unsentUsers.addAll(dirty);
+			throw e;
+		}
+
+		Map<Integer, Integer> prices = currentPrices();
+		prices.forEach((stockId, price) -> {
+			if (!price.equals(valuedPrices.get(stockId)))
+				dirty.addAll(holders.getOrDefault(stockId, Set.of()));
+		});
+		valuedPrices = prices;
+
+		// 방금 DB 에서 평가한 회원은 그 값을 그대로 쓴다
+		dirty.removeAll(changed);
+		for (int userId : dirty) {
+			Portfolio portfolio = portfolios.get(userId);
+			if (portfolio != null)
+				scores.put(portfolio.member, portfolio.score(prices));
+		}
+		if (scores.isEmpty())
+			return;
+		dirty.addAll(changed);
+		try {
+			rankService.addUserScores(scores, names);
+		} catch (RuntimeException e) {
+			unsentUsers.addAll(dirty);
+			throw e;
+		}
+	}
+
+	/**
+	 * 전체 회원 평가와 보유 주식을 stream 으로 읽어 랭킹을 다시 만드는 메서드
+	 */
+	public synchronized void rebuild() {
+		long start = System.currentTimeMillis();
+		// 지금까지 표시된 변경은 아래에서 새로 읽는 값에 모두 들어 있다
+		changedUsers.clear();
+		unsentUsers.clear();
+		portfolios.clear();
+		holders.clear();
+		valuedPrices = currentPrices();
+
+		Map<String, Double> scores = new HashMap<>();
+		Map<String, String> names = new HashMap<>();
+		transactionTemplate.executeWithoutResult(status -> {
+			try (Stream<PortfolioValuation> valuations = portfolioRepository.streamAllValuations()) {
+				valuations.forEach(valuation -> put(valuation, scores, names));
+			}
+			try (Stream<Object[]> holdings = portfolioRepository.streamAllHoldings()) {
+				holdings.forEach(this::put);
+			}
+		});
+		rankService.replaceScores(scores, names);
+		loaded = true;
+		log.info("ranking rebuilt. users : {}, elapsed : {}ms", scores.size(), System.currentTimeMillis() - start);
+	}
+
+	/**
+	 * 평가 결과를 메모리에 넣고, DB 에서 평가한 점수와 이름을 함께 보낼 목록에 담는다.
+	 */
+	private void put(PortfolioValuation valuation, Map<String, Double> scores, Map<String, String> names) {
+		Portfolio portfolio = new Portfolio(valuation.userUuid().toString(), valuation.balance());
+		portfolios.put(valuation.userId(), portfolio);
+		scores.put(portfolio.member, (double) valuation.total());
+		if (valuation.userName() != null)
+			names.put(portfolio.member, valuation.userName());
+	}
+
+	/**
+	 * @param holding [회원 id, 종목 id, 보유 수량]
+	 */
+	private void put(Object[] holding) {
+		Portfolio portfolio = portfolios.get((Integer) holding[0]);
+		if (portfolio == null)
+			return;
+		portfolio.holdings.put((Integer) holding[1], (Integer) holding[2]);
+		holders.computeIfAbsent((Integer) holding[1], stockId -> new HashSet<>()).add((Integer) holding[0]);
+	}
+
+	private void remove(int userId) {
+		Portfolio portfolio = portfolios.remove(userId);
+		if (portfolio == null)
+			return;
+		portfolio.holdings.keySet().forEach(stockId -> holders.getOrDefault(stockId, new HashSet<>()).remove(userId));
+	}
+
+	private Map<Integer, Integer> currentPrices() {
+		Map<Integer, Integer> prices = new HashMap<>();
+		marketSnapshot.getAll().forEach(quote -> prices.put(quote.stockId(), quote.price()));
+		return prices;
+	}
+}
@@ -22,15 +22,15 @@ interface StockBuysRepository extends JpaRepository<StockBuy, Integer> {
 	@Query("select sb from StockBuy sb where sb.code.id = 'S001' and sb.stock = :stock and sb.price = :price order by sb.createdAt asc")
 	List<StockBuy> findAllByStockAndPriceOrderByCreatedAtAsc(Stock stock, int price);
 
-	// 주식별 설정 기간 이후 총 매수 주문 조회
-	List<StockBuy> findAllByStockAndCreatedAtGreaterThan(Stock stock, LocalDateTime localDateTime);
+	// 호가창 복원용 미체결 매수 주문 조회 (시간 우선순위)
+	@Query("select sb from StockBuy sb where sb.code.id = 'S001' and sb.stock = :stock and sb.cntNot > 0 order by sb.createdAt asc, sb.id asc")
+	List<StockBuy> findAllOpenedByStock(Stock stock);
 
 	// 미체결 주식 주문 조회
 	List<StockBuy> findAllByUserAndCodeAndCreatedAtGreaterThanAndCntNotGreaterThan(User user, Code code, LocalDateTime localDateTime, int cnt);
 
 //	@Lock(LockModeType.PESSIMISTIC_WRITE)
 //	@Transactional
-	List<StockBuy> findAllByUserAndStockAndCode(User user, Stock stock, Code code);
 	List<StockBuy> findAllByStock(Stock stock);
 	@Query("select sb from StockBuy sb where sb.code.id = 'S001'")
 	List<StockBuy> findAllTransactionIsOpened();
@@ -45,37 +45,10 @@ public class StockBuysService {
 		return stockBuysRepository.findAllByStockAndPriceOrderByCreatedAtAsc(stock, price);
 	}
 
-	@Transactional
-//	@Lock(LockModeType.PESSIMISTIC_WRITE)
-	public void stockBuy(StockBuy stockBuy, int cnt, Code code) {
-		int cntNot = stockBuy.getCntNot();
-		if (cntNot - cnt < 0)
-			throw BusinessException.of(ErrorCode.API_ERROR_STOCKBUY_STOCK_IS_NOT_ENOUGH);
-		stockBuy.setCntNot(cntNot - cnt);
-		if (cntNot - cnt == 0)
-			stockBuy.updateCode(code);
-		stockBuysRepository.saveAndFlush(stockBuy);
-	}
-
-	public List<StockBuy> getTodayTransactions(Stock stock, LocalDateTime localDateTime) {
-		List<StockBuy> stockBuyList = stockBuysRepository.findAllByStockAndCreatedAtGreaterThan(stock, localDateTime);
-		return stockBuyList;
-	}
-
 	public List<StockBuy> getWaitingStockOrders(User user, Code code, LocalDateTime localDateTime, int cnt) {
 		return stockBuysRepository.findAllByUserAndCodeAndCreatedAtGreaterThanAndCntNotGreaterThan(user, code, localDateTime, cnt);
 	}
 
-	@Transactional
-	public int getStockBuyWaitingList(User user, Stock stock, Code code) {
-		List<StockBuy> list = stockBuysRepository.findAllByUserAndStockAndCode(user, stock, code);
-		int price = 0;
-		for (StockBuy stockBuy : list) {
-			price += stockBuy.getPrice() * stockBuy.getCntNot();
-		}
-		return price;
-	}
-
 	public List<StockBuy> getStockTransListByStock(Stock stock) {
 		return stockBuysRepository.findAllByStock(stock);
 	}
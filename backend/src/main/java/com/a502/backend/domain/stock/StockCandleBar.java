@@ -0,0 +1,30 @@
+package com.a502.backend.domain.stock;
+
+import java.time.LocalDateTime;
+
+/**
+ * 봉 하나 (시작가, 최고가, 최저가, 종가, 거래량)
+ *
+ * @param bucketStart 봉 시작 시각
+ * @param cnt         체결 수량 합
+ */
+public record StockCandleBar(LocalDateTime bucketStart, int startPrice, int highestPrice, int lowestPrice, int price, int cnt) {
+
+	public static StockCandleBar of(LocalDateTime bucketStart, int price, int cnt) {
+		return new StockCandleBar(bucketStart, price, price, price, price, cnt);
+	}
+
+	/**
+	 * 뒤에 온 체결 하나를 더한 봉
+	 */
+	public StockCandleBar add(int price, int cnt) {
+		return new StockCandleBar(bucketStart, startPrice, Math.max(highestPrice, price), Math.min(lowestPrice, price), price, this.cnt + cnt);
+	}
+
+	/**
+	 * 바로 뒤 구간의 봉을 이어붙인 봉 (시작 시각과 시작가는 앞 봉을 따른다)
+	 */
+	public StockCandleBar merge(StockCandleBar next) {
+		return new StockCandleBar(bucketStart, startPrice, Math.max(highestPrice, next.highestPrice), Math.min(lowestPrice, next.lowestPrice), next.price, cnt + next.cnt);
+	}
+}
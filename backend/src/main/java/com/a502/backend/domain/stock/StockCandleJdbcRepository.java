@@ -0,0 +1,57 @@
+package com.a502.backend.domain.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 분봉 갱신용 JDBC 쿼리 (StockFillWriter 의 batch 트랜잭션 안에서 실행)
+ * 분봉은 체결 저장 스레드 하나만 쓰므로 먼저 update 하고 없는 봉만 insert 한다.
+ */
+@Repository
+@RequiredArgsConstructor
+class StockCandleJdbcRepository {
+	private static final StockCandleResolution[] INTRADAY = {StockCandleResolution.MINUTE_1, StockCandleResolution.MINUTE_5};
+
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * @param bars 종목 id 별, 체결 시각의 1분 구간 별로 모은 이번 batch 의 체결 (구간은 시각 순서)
+	 */
+	void mergeIntraday(Map<Integer, ? extends SortedMap<LocalDateTime, StockCandleBar>> bars) {
+		List<Object[]> updates = new ArrayList<>();
+		List<Object[]> inserts = new ArrayList<>();
+		for (StockCandleResolution resolution : INTRADAY) {
+			bars.forEach((stockId, minutes) -> {
+				// 같은 봉에 들어가는 1분 구간은 하나로 이어붙여서 봉마다 한 줄만 보낸다
+				Map<LocalDateTime, StockCandleBar> buckets = new LinkedHashMap<>();
+				minutes.values().forEach(bar -> buckets.merge(resolution.bucketStart(bar.bucketStart()), bar, StockCandleBar::merge));
+				buckets.forEach((start, bar) -> {
+					Timestamp bucketStart = Timestamp.valueOf(start);
+					updates.add(new Object[]{bar.highestPrice(), bar.lowestPrice(), bar.price(), bar.cnt(), stockId, resolution.name(), bucketStart});
+					inserts.add(new Object[]{stockId, resolution.name(), bucketStart, bar.startPrice(), bar.highestPrice(), bar.lowestPrice(), bar.price(), bar.cnt()});
+				});
+			});
+		}
+
+		int[] updated = jdbcTemplate.batchUpdate("""
+				update stock_candles
+				set highest_price = greatest(highest_price, ?), lowest_price = least(lowest_price, ?), price = ?, cnt = cnt + ?
+				where stock_id = ? and resolution = ? and bucket_start = ?
+				""", updates);
+		List<Object[]> missing = new ArrayList<>();
+		for (int i = 0; i < updated.length; i++) {
+			if (updated[i] == 0)
+				missing.add(inserts.get(i));
+		}
+		if (!missing.isEmpty())
+			jdbcTemplate.batchUpdate("""
+					insert into stock_candles (stock_id, resolution, bucket_start, start_price, highest_price, lowest_price, price, cnt)
+					values (?, ?, ?, ?, ?, ?, ?, ?)
+					""", missing);
+	}
+}
@@ -0,0 +1,30 @@
+package com.a502.backend.domain.stock;
+
+import com.a502.backend.application.entity.Stock;
+import com.a502.backend.application.entity.StockCandle;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+interface StockCandleRepository extends JpaRepository<StockCandle, Long> {
+	List<StockCandle> findAllByStockAndResolutionOrderByBucketStartDesc(Stock stock, StockCandleResolution resolution, Pageable pageable);
+
+	@Query("select c from StockCandle c where c.stock = :stock and c.resolution = :resolution and c.bucketStart >= :from and c.bucketStart < :to order by c.bucketStart asc")
+	List<StockCandle> findAllInRange(@Param("stock") Stock stock, @Param("resolution") StockCandleResolution resolution,
+									 @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+	@Query("select coalesce(sum(c.cnt), 0) from StockCandle c where c.stock = :stock and c.resolution = :resolution and c.bucketStart >= :from and c.bucketStart < :to")
+	long sumCnt(@Param("stock") Stock stock, @Param("resolution") StockCandleResolution resolution,
+			   @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+	Optional<StockCandle> findByStockAndResolutionAndBucketStart(Stock stock, StockCandleResolution resolution, LocalDateTime bucketStart);
+
+	boolean existsByStockAndResolution(Stock stock, StockCandleResolution resolution);
+
+	boolean existsByStockAndResolutionAndBucketStart(Stock stock, StockCandleResolution resolution, LocalDateTime bucketStart);
+}
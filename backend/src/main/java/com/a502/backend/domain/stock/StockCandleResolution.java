@@ -0,0 +1,40 @@
+package com.a502.backend.domain.stock;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 봉 단위
+ * MINUTE_1, MINUTE_5  : 체결을 저장할 때 StockFillWriter 가 갱신
+ * DAY, WEEK, MONTH    : 장 마감 때 그날의 StockDetail 로 갱신
+ */
+public enum StockCandleResolution {
+	MINUTE_1, MINUTE_5, DAY, WEEK, MONTH;
+
+	/**
+	 * time 이 속한 봉의 시작 시각
+	 */
+	public LocalDateTime bucketStart(LocalDateTime time) {
+		return switch (this) {
+			case MINUTE_1 -> time.truncatedTo(ChronoUnit.MINUTES);
+			case MINUTE_5 -> time.truncatedTo(ChronoUnit.HOURS).plusMinutes(time.getMinute() / 5 * 5);
+			case DAY -> time.toLocalDate().atStartOfDay();
+			case WEEK -> time.toLocalDate().with(DayOfWeek.MONDAY).atStartOfDay();
+			case MONTH -> time.toLocalDate().withDayOfMonth(1).atStartOfDay();
+		};
+	}
+
+	/**
+	 * bucketStart 다음 봉의 시작 시각
+	 */
+	public LocalDateTime next(LocalDateTime bucketStart) {
+		return switch (this) {
+			case MINUTE_1 -> bucketStart.plusMinutes(1);
+			case MINUTE_5 -> bucketStart.plusMinutes(5);
+			case DAY -> bucketStart.plusDays(1);
+			case WEEK -> bucketStart.plusWeeks(1);
+			case MONTH -> bucketStart.plusMonths(1);
+		};
+	}
+}
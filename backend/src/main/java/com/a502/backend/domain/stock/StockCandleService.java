@@ -0,0 +1,149 @@
+package com.a502.backend.domain.stock;
+
+import com.a502.backend.application.entity.Stock;
+import com.a502.backend.application.entity.StockCandle;
+import com.a502.backend.application.entity.StockDetail;
+import com.a502.backend.domain.stock.response.StockPriceHistoryByBar;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * 미리 집계한 봉 관리
+ * <p>
+ * 분봉은 StockFillWriter 가 체결을 저장할 때 갱신하고, 일봉은 장 마감 때 그날의 StockDetail 로 만든 뒤 주/월봉으로 올린다.
+ * 차트 조회는 필요한 개수의 봉만 읽고, 아직 마감하지 않은 오늘은 StockDetail 로 채워 넣는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class StockCandleService {
+	private static final StockCandleResolution[] ROLL_UPS = {StockCandleResolution.WEEK, StockCandleResolution.MONTH};
+
+	private final StockCandleRepository stockCandleRepository;
+	private final StockDetailsService stockDetailsService;
+	private final StocksService stocksService;
+
+	/**
+	 * 최신 봉부터 count 개 조회 (일/주/월봉은 오늘 장중 가격까지 포함)
+	 */
+	@Transactional(readOnly = true)
+	public List<StockCandleBar> getCandles(Stock stock, StockCandleResolution resolution, int count) {
+		List<StockCandleBar> bars = new ArrayList<>(count + 1);
+		for (StockCandle candle : stockCandleRepository.findAllByStockAndResolutionOrderByBucketStartDesc(stock, resolution, PageRequest.ofSize(count)))
+			bars.add(candle.toBar());
+		if (resolution == StockCandleResolution.MINUTE_1 || resolution == StockCandleResolution.MINUTE_5)
+			return bars;
+
+		StockCandleBar today = today(stock);
+		if (today == null || stockCandleRepository.existsByStockAndResolutionAndBucketStart(stock, StockCandleResolution.DAY, today.bucketStart()))
+			return bars;
+		LocalDateTime bucketStart = resolution.bucketStart(today.bucketStart());
+		if (!bars.isEmpty() && bars.get(0).bucketStart().equals(bucketStart))
+			bars.set(0, bars.get(0).merge(today));
+		else
+			bars.add(0, rebase(today, bucketStart));
+		return bars.size() > count ? bars.subList(0, count) : bars;
+	}
+
+	/**
+	 * 장 마감 때 오늘 일봉을 저장하고 이번 주/월봉을 다시 계산하는 메서드
+	 * 여러 번 실행해도 결과가 같다.
+	 */
+	@Transactional
+	public void closeDay(Stock stock) {
+		StockCandleBar today = today(stock);
+		if (today == null)
+			return;
+		save(stock, StockCandleResolution.DAY, today);
+		for (StockCandleResolution resolution : ROLL_UPS) {
+			LocalDateTime from = resolution.bucketStart(today.bucketStart());
+			StockCandleBar bar = null;
+			for (StockCandle day : stockCandleRepository.findAllInRange(stock, StockCandleResolution.DAY, from, resolution.next(from)))
+				bar = bar == null ? rebase(day.toBar(), from) : bar.merge(day.toBar());
+			save(stock, resolution, bar);
+		}
+	}
+
+	/**
+	 * 봉이 하나도 없는 종목은 StockDetail 기록으로 일/주/월봉을 한 번 채운다 (서버 시작 시)
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional
+	public void backfill() {
+		for (Stock stock : stocksService.findAllList()) {
+			if (stockCandleRepository.existsByStockAndResolution(stock, StockCandleResolution.DAY))
+				continue;
+			List<StockDetail> details = stockDetailsService.findAllByStockOrderByCreatedAtDesc(stock);
+			Collections.reverse(details);
+			List<StockCandle> candles = new ArrayList<>();
+			for (StockCandleResolution resolution : List.of(StockCandleResolution.DAY, StockCandleResolution.WEEK, StockCandleResolution.MONTH)) {
+				Map<LocalDateTime, StockCandleBar> bars = new LinkedHashMap<>();
+				for (StockDetail detail : details) {
+					StockCandleBar bar = toBar(detail, resolution.bucketStart(detail.getCreatedAt()));
+					bars.merge(bar.bucketStart(), bar, StockCandleBar::merge);
+				}
+				bars.values().forEach(bar -> candles.add(StockCandle.builder().stock(stock).resolution(resolution).bar(bar).build()));
+			}
+			stockCandleRepository.saveAll(candles);
+			log.info("stock candles backfilled. stock : {}, details : {}", stock.getName(), details.size());
+		}
+	}
+
+	/**
+	 * 최신순 봉 목록을 period 개씩 묶어 봉 차트 응답으로 만드는 메서드
+	 * 묶음의 x 는 가장 최근 봉의 시각, 시작가는 가장 오래된 봉, 종가는 가장 최근 봉을 따른다.
+	 */
+	public static List<StockPriceHistoryByBar> toBars(List<StockCandleBar> bars, int period) {
+		List<StockPriceHistoryByBar> result = new ArrayList<>((bars.size() + period - 1) / period);
+		for (int i = 0; i < bars.size(); i += period) {
+			StockCandleBar newest = bars.get(i);
+			int highestPrice = Integer.MIN_VALUE;
+			int lowestPrice = Integer.MAX_VALUE;
+			int end = Math.min(i + period, bars.size());
+			for (int j = i; j < end; j++) {
+				highestPrice = Math.max(highestPrice, bars.get(j).highestPrice());
+				lowestPrice = Math.min(lowestPrice, bars.get(j).lowestPrice());
+			}
+			result.add(StockPriceHistoryByBar.builder()
+					.x(newest.bucketStart().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+					.y(List.of(bars.get(end - 1).startPrice(), highestPrice, lowestPrice, newest.price()))
+					.build());
+		}
+		return result;
+	}
+
+	/**
+	 * 오늘(마지막 StockDetail) 일봉, 거래량은 오늘 1분봉의 합
+	 */
+	private StockCandleBar today(Stock stock) {
+		StockDetail detail = stockDetailsService.getLastDetail(stock);
+		if (detail == null)
+			return null;
+		LocalDateTime day = StockCandleResolution.DAY.bucketStart(detail.getCreatedAt());
+		int cnt = (int) stockCandleRepository.sumCnt(stock, StockCandleResolution.MINUTE_1, day, StockCandleResolution.DAY.next(day));
+		return new StockCandleBar(day, detail.getStartPrice(), detail.getHighestPrice(), detail.getLowestPrice(), detail.getPrice(), cnt);
+	}
+
+	private void save(Stock stock, StockCandleResolution resolution, StockCandleBar bar) {
+		stockCandleRepository.findByStockAndResolutionAndBucketStart(stock, resolution, bar.bucketStart())
+				.ifPresentOrElse(candle -> candle.update(bar),
+						() -> stockCandleRepository.save(StockCandle.builder().stock(stock).resolution(resolution).bar(bar).build()));
+	}
+
+	private static StockCandleBar toBar(StockDetail detail, LocalDateTime bucketStart) {
+		return new StockCandleBar(bucketStart, detail.getStartPrice(), detail.getHighestPrice(), detail.getLowestPrice(), detail.getPrice(), 0);
+	}
+
+	private static StockCandleBar rebase(StockCandleBar bar, LocalDateTime bucketStart) {
+		return new StockCandleBar(bucketStart, bar.startPrice(), bar.highestPrice(), bar.lowestPrice(), bar.price(), bar.cnt());
+	}
+}
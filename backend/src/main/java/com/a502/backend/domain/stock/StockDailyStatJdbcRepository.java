@@ -0,0 +1,49 @@
+package com.a502.backend.domain.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 하루 거래 집계 누적용 JDBC 쿼리 (StockFillWriter 의 batch 트랜잭션 안에서 실행)
+ * 체결 저장 스레드 하나만 쓰므로 먼저 update 하고 없는 종목만 insert 한다.
+ */
+@Repository
+@RequiredArgsConstructor
+class StockDailyStatJdbcRepository {
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * @param deltas 종목 id 별 이번 batch 의 {거래량, 거래대금, 체결 건수}
+	 */
+	void add(LocalDate tradeDate, Map<Integer, long[]> deltas) {
+		if (deltas.isEmpty())
+			return;
+		Date date = Date.valueOf(tradeDate);
+		List<Object[]> updates = new ArrayList<>();
+		List<Object[]> inserts = new ArrayList<>();
+		deltas.forEach((stockId, delta) -> {
+			updates.add(new Object[]{delta[0], delta[1], delta[2], stockId, date});
+			inserts.add(new Object[]{stockId, date, delta[0], delta[1], delta[2]});
+		});
+
+		int[] updated = jdbcTemplate.batchUpdate("""
+				update stock_daily_stats
+				set volume = volume + ?, turnover = turnover + ?, trade_cnt = trade_cnt + ?
+				where stock_id = ? and trade_date = ?
+				""", updates);
+		List<Object[]> missing = new ArrayList<>();
+		for (int i = 0; i < updated.length; i++) {
+			if (updated[i] == 0)
+				missing.add(inserts.get(i));
+		}
+		if (!missing.isEmpty())
+			jdbcTemplate.batchUpdate("insert into stock_daily_stats (stock_id, trade_date, volume, turnover, trade_cnt) values (?, ?, ?, ?, ?)", missing);
+	}
+}
@@ -0,0 +1,19 @@
+package com.a502.backend.domain.stock;
+
+import com.a502.backend.application.entity.StockDailyStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+interface StockDailyStatRepository extends JpaRepository<StockDailyStat, Long> {
+
+	@Query("select s from StockDailyStat s where s.stock.id = :stockId and s.tradeDate = :tradeDate")
+	Optional<StockDailyStat> findByStockIdAndTradeDate(@Param("stockId") int stockId, @Param("tradeDate") LocalDate tradeDate);
+
+	@Query("select s from StockDailyStat s join fetch s.stock where s.tradeDate = :tradeDate")
+	List<StockDailyStat> findAllByTradeDate(@Param("tradeDate") LocalDate tradeDate);
+}
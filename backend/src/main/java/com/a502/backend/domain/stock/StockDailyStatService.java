@@ -0,0 +1,37 @@
+package com.a502.backend.domain.stock;
+
+import com.a502.backend.application.entity.Stock;
+import com.a502.backend.application.entity.StockDailyStat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 종목별 하루 거래 집계 조회
+ * 오늘 주문을 모두 읽어 더하지 않고 체결 저장 때 누적해 둔 한 줄을 읽는다.
+ */
+@RequiredArgsConstructor
+@Service
+public class StockDailyStatService {
+	private final StockDailyStatRepository stockDailyStatRepository;
+
+	/**
+	 * 오늘 거래 집계 (체결이 없으면 empty)
+	 */
+	@Transactional(readOnly = true)
+	public Optional<StockDailyStat> findToday(Stock stock) {
+		return stockDailyStatRepository.findByStockIdAndTradeDate(stock.getId(), LocalDate.now());
+	}
+
+	/**
+	 * 오늘 체결이 있었던 종목들의 거래 집계
+	 */
+	@Transactional(readOnly = true)
+	public List<StockDailyStat> getTodayStats() {
+		return stockDailyStatRepository.findAllByTradeDate(LocalDate.now());
+	}
+}
@@ -2,6 +2,7 @@ package com.a502.backend.domain.stock;
 
 import com.a502.backend.application.entity.Stock;
 import com.a502.backend.application.entity.StockDetail;
+import com.a502.backend.domain.stock.orderbook.OrderFill;
 import com.a502.backend.domain.weather.Weather;
 import com.a502.backend.global.code.StockCode;
 import com.a502.backend.global.error.BusinessException;
@@ -32,23 +33,23 @@ public class StockDetailsService {
 			throw BusinessException.of(ErrorCode.API_ERROR_STOCK_PRICE_OUT_OF_RANGE);
 	}
 
+	/**
+	 * 체결 결과로 현재가, 최고가, 최저가를 갱신하는 메서드
+	 *
+	 * @param fills 체결 순서대로 정렬된 체결 목록
+	 * @return 갱신한 StockDetail (체결이 없으면 null)
+	 */
 	@Transactional
-	public void updateStockDetail(Stock stock, int price) {
+	public StockDetail updateStockDetail(Stock stock, List<OrderFill> fills) {
+		if (fills.isEmpty())
+			return null;
 		StockDetail stockDetail = getLastDetail(stock);
-		stockDetail.setPrice(price);
-		stockDetail.setHighestPrice(Math.max(stockDetail.getHighestPrice(), price));
-		stockDetail.setLowestPrice(Math.min(stockDetail.getLowestPrice(), price));
-	}
-
-	@Transactional
-	public HashMap<String, Integer> getStockPriceList(List<Stock> stocks) {
-		HashMap<String, Integer> hashList = new HashMap<>();
-
-		for (Stock stock : stocks) {
-			StockDetail detail = getLastDetail(stock);
-			hashList.put(stock.getName(), detail.getPrice());
+		for (OrderFill fill : fills) {
+			stockDetail.setHighestPrice(Math.max(stockDetail.getHighestPrice(), fill.price()));
+			stockDetail.setLowestPrice(Math.min(stockDetail.getLowestPrice(), fill.price()));
 		}
-		return hashList;
+		stockDetail.setPrice(fills.get(fills.size() - 1).price());
+		return stockDetail;
 	}
 
 	@Transactional
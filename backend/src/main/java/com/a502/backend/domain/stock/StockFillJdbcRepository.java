@@ -0,0 +1,131 @@
+package com.a502.backend.domain.stock;
+
+import com.a502.backend.global.error.BusinessException;
+import com.a502.backend.global.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+/**
+ * 체결 일괄 저장용 JDBC 쿼리
+ * 체결 하나마다 엔티티를 읽고 saveAndFlush 하던 것을 문장 종류별 JDBC batch 로 묶는다.
+ * 행마다 바뀐 행 수를 확인해서, 대상이 없는 행이 있으면 예외를 던져 batch 전체를 롤백한다.
+ */
+@Repository
+@RequiredArgsConstructor
+class StockFillJdbcRepository {
+	private final JdbcTemplate jdbcTemplate;
+	private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	void insertParkingDetails(List<Object[]> rows) {
+		requireAll(jdbcTemplate.batchUpdate("""
+				insert into parking_details (parking_details_uuid, counterparty_name, cnt, amount, balance, ratio, parking_id, code_id, created_at, updated_at, is_deleted)
+				select ?, ?, ?, ?, p.balance + ?, 0, p.parking_id, ?, ?, ?, false
+				from parkings p where p.user_id = ?
+				""", rows), ErrorCode.API_ERROR_PARKING_NOT_EXIST);
+	}
+
+	void updateParkingBalances(List<Object[]> rows) {
+		requireAll(jdbcTemplate.batchUpdate("update parkings set balance = balance + ?, reserved = reserved - ?, updated_at = ? where user_id = ?", rows),
+				ErrorCode.API_ERROR_PARKING_NOT_EXIST);
+	}
+
+	void updateStockBuys(List<Object[]> rows) {
+		requireAll(jdbcTemplate.batchUpdate("""
+				update stock_buys
+				set cnt_not = cnt_not - ?, code_id = case when cnt_not = ? then ? else code_id end, updated_at = ?
+				where stock_buy_id = ?
+				""", rows), ErrorCode.API_ERROR_STOCKBUY_NOT_EXIST);
+	}
+
+	void updateStockSells(List<Object[]> rows) {
+		requireAll(jdbcTemplate.batchUpdate("""
+				update stock_sells
+				set cnt_not = cnt_not - ?, code_id = case when cnt_not = ? then ? else code_id end, updated_at = ?
+				where stock_sell_id = ?
+				""", rows), ErrorCode.API_ERROR_STOCKSELL_NOT_EXIST);
+	}
+
+	/**
+	 * 평균단가는 기존 StockHoldingsService 와 같이 total / cnt 를 유지하고, 보유 수량이 0 이면 체결가로 시작한다.
+	 * 체결 저장 스레드 하나만 쓰므로 먼저 update 하고, 행이 없는 매수인(회원 가입 뒤에 추가된 종목)만 insert 한다.
+	 * 매도인은 주식을 묶어 둔 행이 있어야 하므로 없으면 예외를 던진다.
+	 *
+	 * @param rows [체결가, 수량 변동, 수량 변동, 수량 변동, 풀 묶인 수량, updated_at, user_id, stock_id]
+	 */
+	void updateStockHoldings(List<Object[]> rows) {
+		int[] updated = jdbcTemplate.batchUpdate("""
+				update stock_holdings
+				set total = case when cnt = 0 then ? * ? else total / cnt * (cnt + ?) end, cnt = cnt + ?, reserved_cnt = reserved_cnt - ?, updated_at = ?
+				where user_id = ? and stock_id = ?
+				""", rows);
+		// (user_id, stock_id) 별 [첫 체결가, 수량 합, 행 번호], 처음 산 값으로 평균단가를 시작하는 update 와 같게 만든다
+		Map<List<Object>, int[]> missing = new LinkedHashMap<>();
+		for (int i = 0; i < updated.length; i++) {
+			if (updated[i] != 0)
+				continue;
+			Object[] row = rows.get(i);
+			int cnt = (Integer) row[3];
+			if (cnt <= 0)
+				throw BusinessException.of(ErrorCode.API_ERROR_STOCK_HOLDING_NOT_EXIST);
+			int index = i;
+			missing.merge(List.of(row[6], row[7]), new int[]{(Integer) row[0], cnt, index}, (first, next) -> {
+				first[1] += next[1];
+				return first;
+			});
+		}
+		if (missing.isEmpty())
+			return;
+		List<Object[]> inserts = new ArrayList<>();
+		missing.forEach((key, holding) -> {
+			Object updatedAt = rows.get(holding[2])[5];
+			inserts.add(new Object[]{UUID.randomUUID(), key.get(0), key.get(1), holding[1], holding[0] * holding[1], updatedAt, updatedAt});
+		});
+		jdbcTemplate.batchUpdate("""
+				insert into stock_holdings (stock_holding_uuid, user_id, stock_id, cnt, total, reserved_cnt, created_at, updated_at, is_deleted)
+				values (?, ?, ?, ?, ?, 0, ?, ?, false)
+				""", inserts);
+	}
+
+	void saveCheckpoint(int stockId, long lastSeq) {
+		int updated = jdbcTemplate.update("update stock_fill_checkpoints set last_seq = ? where stock_id = ? and last_seq < ?", lastSeq, stockId, lastSeq);
+		if (updated == 0 && findCheckpoint(stockId) == 0)
+			jdbcTemplate.update("insert into stock_fill_checkpoints (stock_id, last_seq) values (?, ?)", stockId, lastSeq);
+	}
+
+	long findCheckpoint(int stockId) {
+		List<Long> result = jdbcTemplate.queryForList("select last_seq from stock_fill_checkpoints where stock_id = ?", Long.class, stockId);
+		return result.isEmpty() ? 0 : result.get(0);
+	}
+
+	Map<Integer, Integer> findStockBuyUserIds(Collection<Integer> ids) {
+		return findUserIds("select stock_buy_id, user_id from stock_buys where stock_buy_id in (:ids)", ids);
+	}
+
+	Map<Integer, Integer> findStockSellUserIds(Collection<Integer> ids) {
+		return findUserIds("select stock_sell_id, user_id from stock_sells where stock_sell_id in (:ids)", ids);
+	}
+
+	/**
+	 * batch 의 모든 행이 대상 행을 바꿨는지 확인한다 (드라이버가 행 수를 알려주지 않은 행은 넘어간다).
+	 */
+	private static void requireAll(int[] updated, ErrorCode errorCode) {
+		for (int count : updated) {
+			if (count == 0)
+				throw BusinessException.of(errorCode);
+		}
+	}
+
+	private Map<Integer, Integer> findUserIds(String sql, Collection<Integer> ids) {
+		Map<Integer, Integer> result = new HashMap<>();
+		if (ids.isEmpty())
+			return result;
+		namedParameterJdbcTemplate.query(sql, Map.of("ids", ids), rs -> {
+			result.put(rs.getInt(1), rs.getInt(2));
+		});
+		return result;
+	}
+}
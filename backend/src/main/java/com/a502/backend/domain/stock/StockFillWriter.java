@@ -0,0 +1,295 @@
+package com.a502.backend.domain.stock;
+
+import com.a502.backend.domain.stock.journal.JournalRecord;
+import com.a502.backend.domain.stock.orderbook.OrderFill;
+import com.a502.backend.global.code.CodeService;
+import com.a502.backend.global.error.BusinessException;
+import com.a502.backend.global.exception.ErrorCode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * 체결 내역 일괄 저장 (write-behind)
+ * <p>
+ * 종목 스레드가 넘긴 체결을 쓰기 전용 스레드 하나가 모아서, flush-interval-ms 가 지나거나
+ * max-batch-fills 만큼 쌓이면 하나의 트랜잭션 안에서 JDBC batch 로 저장한다.
+ * 1. insert ParkingDetail : 파킹통장 거래내역 추가
+ * 2. update Parking : 회원별 잔액 변동을 합쳐서 반영하고, 매수인의 묶인 금액을 체결 금액만큼 푼다
+ * 3. update StockBuy/StockSell : 주문별 체결 수량을 합쳐서 cntNot 차감, 모두 체결되면 완료 처리
+ * 4. update StockHolding : 매도인/매수인 보유 주식 수 수정, 매도인의 묶인 주식 수를 푼다 (보유 행이 없는 매수인은 새로 만든다)
+ * 5. update StockCandle : 종목별 1분/5분봉에 체결 반영
+ * 6. update StockDailyStat : 종목별 오늘 거래량, 거래대금, 체결 건수 누적
+ * 7. insert StockTick : 체결 틱 추가 (커밋 후 StockTickStore 의 오늘 틱에도 덧붙인다)
+ * 8. update StockFillCheckpoint : 종목별로 반영된 마지막 저널 순번
+ * <p>
+ * 대상 행이 없는 쓰기(파킹통장, 주문, 매도인 보유 주식)가 있으면 batch 전체를 롤백하고 다시 시도한다.
+ * 커밋 후에는 MarketSnapshot 의 오늘 거래 집계를 다시 읽고, 체결한 회원을 RankingBoard 에 표시한다.
+ * 주문 응답은 그 주문의 체결이 포함된 batch 가 커밋된 뒤에 나간다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class StockFillWriter {
+	private final StockFillJdbcRepository stockFillJdbcRepository;
+	private final StockCandleJdbcRepository stockCandleJdbcRepository;
+	private final StockDailyStatJdbcRepository stockDailyStatJdbcRepository;
+	private final StockTickJdbcRepository stockTickJdbcRepository;
+	private final StockTickStore stockTickStore;
+	private final MarketSnapshot marketSnapshot;
+	private final RankingBoard rankingBoard;
+	private final TransactionTemplate transactionTemplate;
+	private final CodeService codeService;
+	private final BlockingQueue<PendingFills> queue = new LinkedBlockingQueue<>();
+	private final Map<Integer, CompletableFuture<Void>> lastSubmissions = new ConcurrentHashMap<>();
+	private Thread writerThread;
+	private volatile boolean running;
+
+	@Value("${stock.fill-writer.flush-interval-ms:10}")
+	private long flushIntervalMs;
+
+	@Value("${stock.fill-writer.max-batch-fills:500}")
+	private int maxBatchFills;
+
+	@Value("${stock.fill-writer.max-retries:3}")
+	private int maxRetries;
+
+	/**
+	 * @param filledAt 체결 시각 (epoch ms, 틱 시각으로 쓴다)
+	 */
+	private record PendingFills(int stockId, String stockName, List<OrderFill> fills, long lastSeq, long filledAt,
+								CompletableFuture<Void> persisted) {
+	}
+
+	@PostConstruct
+	public void start() {
+		running = true;
+		writerThread = new Thread(this::run, "stock-fill-writer");
+		writerThread.setDaemon(true);
+		writerThread.start();
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		running = false;
+		writerThread.join(TimeUnit.SECONDS.toMillis(10));
+	}
+
+	/**
+	 * 체결 목록을 저장 대기열에 넣는 메서드
+	 *
+	 * @param lastSeq 체결 레코드의 마지막 저널 순번 (저널을 쓰지 않으면 0)
+	 * @return batch 커밋 시 완료되는 future
+	 */
+	public CompletableFuture<Void> submit(int stockId, String stockName, List<OrderFill> fills, long lastSeq) {
+		if (fills.isEmpty())
+			return CompletableFuture.completedFuture(null);
+		PendingFills pending = new PendingFills(stockId, stockName, fills, lastSeq, System.currentTimeMillis(), new CompletableFuture<>());
+		lastSubmissions.put(stockId, pending.persisted());
+		queue.add(pending);
+		return pending.persisted();
+	}
+
+	/**
+	 * 해당 종목의 대기 중인 체결이 모두 저장(또는 실패)될 때까지 기다리는 메서드
+	 * DB 에서 호가창을 다시 만들기 전에 호출한다.
+	 */
+	public void drain(int stockId) {
+		CompletableFuture<Void> last = lastSubmissions.get(stockId);
+		if (last != null)
+			last.handle((result, e) -> null).join();
+	}
+
+	public long getCheckpoint(int stockId) {
+		return stockFillJdbcRepository.findCheckpoint(stockId);
+	}
+
+	/**
+	 * 저널에는 남았지만 DB 에 반영되지 못한 체결을 재시작 시 바로 저장하는 메서드
+	 */
+	public void replay(int stockId, String stockName, List<JournalRecord> fillRecords) {
+		if (fillRecords.isEmpty())
+			return;
+		Map<Integer, Integer> buyUserIds = stockFillJdbcRepository.findStockBuyUserIds(fillRecords.stream().map(JournalRecord::id1).toList());
+		Map<Integer, Integer> sellUserIds = stockFillJdbcRepository.findStockSellUserIds(fillRecords.stream().map(JournalRecord::id2).toList());
+
+		List<OrderFill> fills = new ArrayList<>();
+		for (JournalRecord record : fillRecords) {
+			Integer buyUserId = buyUserIds.get(record.id1());
+			Integer sellUserId = sellUserIds.get(record.id2());
+			if (buyUserId == null || sellUserId == null) {
+				log.warn("skip journal fill without order. seq : {}", record.seq());
+				continue;
+			}
+			fills.add(new OrderFill(record.id1(), record.id2(), buyUserId, sellUserId, record.price(), record.cnt()));
+		}
+		long lastSeq = fillRecords.get(fillRecords.size() - 1).seq();
+		PendingFills pending = new PendingFills(stockId, stockName, fills, lastSeq, System.currentTimeMillis(), new CompletableFuture<>());
+		stockTickStore.commit(() -> transactionTemplate.execute(status -> write(List.of(pending))));
+		marketSnapshot.refreshStats();
+		rankingBoard.markChanged(userIds(List.of(pending)));
+		log.info("replayed {} journal fills. stock : {}", fills.size(), stockName);
+	}
+
+	/**
+	 * 체결 저장 완료를 기다리는 메서드
+	 */
+	public static void await(CompletableFuture<Void> persisted) {
+		try {
+			persisted.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof BusinessException businessException)
+				throw businessException;
+			throw BusinessException.of(ErrorCode.API_ERROR_STOCK_FILL_NOT_SAVED);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw BusinessException.of(ErrorCode.API_ERROR_INTERNAL_SERVER);
+		}
+	}
+
+	private void run() {
+		while (running || !queue.isEmpty()) {
+			try {
+				PendingFills first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+				if (first == null)
+					continue;
+				List<PendingFills> batch = new ArrayList<>();
+				batch.add(first);
+				int count = first.fills().size();
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+				while (count < maxBatchFills) {
+					PendingFills next = queue.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+					if (next == null)
+						break;
+					batch.add(next);
+					count += next.fills().size();
+				}
+				flush(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private void flush(List<PendingFills> batch) {
+		for (int attempt = 1; ; attempt++) {
+			try {
+				stockTickStore.commit(() -> transactionTemplate.execute(status -> write(batch)));
+				marketSnapshot.refreshStats();
+				rankingBoard.markChanged(userIds(batch));
+				batch.forEach(pending -> pending.persisted().complete(null));
+				return;
+			} catch (RuntimeException e) {
+				if (attempt >= maxRetries) {
+					log.error("stock fill batch failed. orders : {}, message : {}", batch.size(), e.getMessage());
+					batch.forEach(pending -> pending.persisted().completeExceptionally(e));
+					return;
+				}
+				log.warn("stock fill batch retry {}. message : {}", attempt, e.getMessage());
+			}
+		}
+	}
+
+	private static Set<Integer> userIds(List<PendingFills> batch) {
+		Set<Integer> userIds = new HashSet<>();
+		for (PendingFills pending : batch) {
+			for (OrderFill fill : pending.fills()) {
+				userIds.add(fill.buyUserId());
+				userIds.add(fill.sellUserId());
+			}
+		}
+		return userIds;
+	}
+
+	private List<StockTickStore.Tick> write(List<PendingFills> batch) {
+		LocalDateTime now = LocalDateTime.now();
+		Timestamp updatedAt = Timestamp.valueOf(now);
+		String sellCode = codeService.findByName("매도").getId();
+		String buyCode = codeService.findByName("매수").getId();
+		String doneCode = codeService.findByName("완료").getId();
+
+		List<Object[]> details = new ArrayList<>();
+		List<Object[]> holdings = new ArrayList<>();
+		// 파킹통장 잠금 순서를 고정하기 위해 회원 id 순으로 정렬
+		Map<Integer, Integer> balanceDeltas = new TreeMap<>();
+		Map<Integer, Integer> releases = new HashMap<>();
+		Map<Integer, Integer> buyCnts = new TreeMap<>();
+		Map<Integer, Integer> sellCnts = new TreeMap<>();
+		Map<Integer, Long> checkpoints = new HashMap<>();
+		Map<Integer, TreeMap<LocalDateTime, StockCandleBar>> candles = new TreeMap<>();
+		Map<LocalDate, Map<Integer, long[]>> dailyStats = new TreeMap<>();
+		List<StockTickStore.Tick> ticks = new ArrayList<>();
+		List<Object[]> tickRows = new ArrayList<>();
+		long sequence = 0;
+
+		for (PendingFills pending : batch) {
+			LocalDateTime filledMinute = new Timestamp(pending.filledAt()).toLocalDateTime().truncatedTo(ChronoUnit.MINUTES);
+			for (OrderFill fill : pending.fills()) {
+				int amount = fill.price() * fill.cnt();
+				// 같은 batch 안의 거래내역도 순서대로 잔액이 이어지도록 batch 내 누적 변동을 더한다
+				int sellBalance = balanceDeltas.merge(fill.sellUserId(), amount, Integer::sum);
+				details.add(new Object[]{UUID.randomUUID(), pending.stockName(), fill.cnt(), amount, sellBalance, sellCode,
+						Timestamp.valueOf(now.plusNanos(1000 * sequence++)), updatedAt, fill.sellUserId()});
+				int buyBalance = balanceDeltas.merge(fill.buyUserId(), -amount, Integer::sum);
+				details.add(new Object[]{UUID.randomUUID(), pending.stockName(), fill.cnt(), -amount, buyBalance, buyCode,
+						Timestamp.valueOf(now.plusNanos(1000 * sequence++)), updatedAt, fill.buyUserId()});
+
+				releases.merge(fill.buyUserId(), amount, Integer::sum);
+
+				buyCnts.merge(fill.buyOrderId(), fill.cnt(), Integer::sum);
+				sellCnts.merge(fill.sellOrderId(), fill.cnt(), Integer::sum);
+
+				holdings.add(new Object[]{fill.price(), -fill.cnt(), -fill.cnt(), -fill.cnt(), fill.cnt(), updatedAt, fill.sellUserId(), pending.stockId()});
+				holdings.add(new Object[]{fill.price(), fill.cnt(), fill.cnt(), fill.cnt(), 0, updatedAt, fill.buyUserId(), pending.stockId()});
+
+				// 늦게 저장되거나 다시 시도한 batch 도 체결된 분의 봉에 들어가도록 체결 시각으로 나눈다
+				candles.computeIfAbsent(pending.stockId(), stockId -> new TreeMap<>())
+						.compute(filledMinute, (minute, bar) -> bar == null ? StockCandleBar.of(minute, fill.price(), fill.cnt()) : bar.add(fill.price(), fill.cnt()));
+
+				// 자정을 넘겨 저장된 batch 도 체결된 날의 통계에 더한다
+				long[] dailyStat = dailyStats.computeIfAbsent(filledMinute.toLocalDate(), date -> new TreeMap<>())
+						.computeIfAbsent(pending.stockId(), stockId -> new long[3]);
+				dailyStat[0] += fill.cnt();
+				dailyStat[1] += amount;
+				dailyStat[2]++;
+
+				ticks.add(new StockTickStore.Tick(pending.stockId(), pending.filledAt(), fill.price(), fill.cnt()));
+				tickRows.add(new Object[]{pending.stockId(), new Timestamp(pending.filledAt()), fill.price(), fill.cnt()});
+			}
+			checkpoints.merge(pending.stockId(), pending.lastSeq(), Math::max);
+		}
+
+		List<Object[]> balances = new ArrayList<>();
+		balanceDeltas.forEach((userId, delta) -> balances.add(new Object[]{delta, releases.getOrDefault(userId, 0), updatedAt, userId}));
+		List<Object[]> buys = new ArrayList<>();
+		buyCnts.forEach((id, cnt) -> buys.add(new Object[]{cnt, cnt, doneCode, updatedAt, id}));
+		List<Object[]> sells = new ArrayList<>();
+		sellCnts.forEach((id, cnt) -> sells.add(new Object[]{cnt, cnt, doneCode, updatedAt, id}));
+
+		stockFillJdbcRepository.insertParkingDetails(details);
+		stockFillJdbcRepository.updateParkingBalances(balances);
+		stockFillJdbcRepository.updateStockBuys(buys);
+		stockFillJdbcRepository.updateStockSells(sells);
+		stockFillJdbcRepository.updateStockHoldings(holdings);
+		stockCandleJdbcRepository.mergeIntraday(candles);
+		dailyStats.forEach(stockDailyStatJdbcRepository::add);
+		stockTickJdbcRepository.insertTicks(tickRows);
+		checkpoints.forEach((stockId, lastSeq) -> {
+			if (lastSeq > 0)
+				stockFillJdbcRepository.saveCheckpoint(stockId, lastSeq);
+		});
+		return ticks;
+	}
+}
@@ -4,6 +4,8 @@ import com.a502.backend.application.entity.Stock;
 import com.a502.backend.application.entity.StockHolding;
 import com.a502.backend.application.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
@@ -12,4 +14,16 @@ import java.util.Optional;
 
 interface StockHoldingsRepository extends JpaRepository<StockHolding, StockHoldingsId> {
     List<StockHolding> findAllByUser(User user);
+
+    @Modifying
+    @Query("update StockHolding sh set sh.reservedCnt = sh.reservedCnt + :cnt where sh.user = :user and sh.stock = :stock and sh.cnt - sh.reservedCnt >= :cnt")
+    int reserve(User user, Stock stock, int cnt);
+
+    @Modifying
+    @Query("update StockHolding sh set sh.reservedCnt = sh.reservedCnt - :cnt where sh.user = :user and sh.stock = :stock")
+    int release(User user, Stock stock, int cnt);
+
+    @Modifying
+    @Query("update StockHolding sh set sh.reservedCnt = coalesce((select sum(ss.cntNot) from StockSell ss where ss.user = sh.user and ss.stock = sh.stock and ss.code.id = 'S001'), 0)")
+    int rebuildReservedCnt();
 }
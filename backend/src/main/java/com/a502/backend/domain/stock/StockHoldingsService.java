@@ -20,6 +20,8 @@ import java.util.List;
 public class StockHoldingsService {
     private final StockHoldingsRepository stockHoldingsRepository;
     private final StocksService stocksService;
+    private final PortfolioRepository portfolioRepository;
+    private final RankingBoard rankingBoard;
 
 //    @Lock(LockModeType.PESSIMISTIC_WRITE)
     public StockHolding findById(User user, Stock stock){
@@ -37,28 +39,28 @@ public class StockHoldingsService {
         return stockHolding.getCnt();
     }
 
+    /**
+     * 매도 주문 수량을 보유 주식에 묶는 메서드
+     * 보유 수량에서 이미 묶인 수량을 뺀 만큼만 묶을 수 있다.
+     */
     @Transactional
-    public void stockSell(User user, Stock stock, int cnt, int price){
-        StockHolding stockHolding = findById(user, stock);
-        int stockHoldingCnt = stockHolding.getCnt();
-        int stockHoldingTotal = stockHolding.getTotal();
-        int unitPrice = stockHoldingTotal / stockHoldingCnt;
-
-        stockHolding.setCnt(stockHoldingCnt - cnt);
-        stockHolding.setTotal(unitPrice * (stockHoldingCnt - cnt));
-        stockHoldingsRepository.saveAndFlush(stockHolding);
+    public void reserve(User user, Stock stock, int cnt) {
+        if (stockHoldingsRepository.reserve(user, stock, cnt) == 0)
+            throw BusinessException.of(ErrorCode.API_ERROR_STOCK_HOLDING_NOT_EXIST);
     }
 
     @Transactional
-    public void stockBuy(User user, Stock stock, int cnt, int price){
-        StockHolding stockHolding = findById(user, stock);
-        int stockHoldingCnt = stockHolding.getCnt();
-        int stockHoldingTotal = stockHolding.getTotal();
-        int unitPrice = stockHoldingTotal / stockHoldingCnt;
+    public void release(User user, Stock stock, int cnt) {
+        if (cnt > 0)
+            stockHoldingsRepository.release(user, stock, cnt);
+    }
 
-        stockHolding.setCnt(stockHoldingCnt + cnt);
-        stockHolding.setTotal(unitPrice * (stockHoldingCnt + cnt));
-        stockHoldingsRepository.saveAndFlush(stockHolding);
+    /**
+     * 묶인 주식 수를 거래중인 매도 주문으로 다시 계산하는 메서드
+     */
+    @Transactional
+    public void rebuildReservedCnt() {
+        stockHoldingsRepository.rebuildReservedCnt();
     }
 
     // 유저가 가진 주식 조회
@@ -69,6 +71,16 @@ public class StockHoldingsService {
         return stockHoldingList;
     }
 
+    /**
+     * 회원 한 명의 자산 평가 (파킹통장 잔액, 보유 주식 평가금액/매수가 합)
+     */
+    public PortfolioValuation getValuation(User user) {
+        List<PortfolioValuation> valuations = portfolioRepository.findValuations(List.of(user.getId()));
+        if (valuations.isEmpty())
+            throw BusinessException.of(ErrorCode.API_ERROR_PARKING_NOT_EXIST);
+        return valuations.get(0);
+    }
+
     @Transactional
     public void initStockHolding(User user, List<Stock> stocks,HashMap<String, Integer> stockStartPriceList) {
 
@@ -83,6 +95,7 @@ public class StockHoldingsService {
             stockHoldingsRepository.save(holding);
 
         });
+        rankingBoard.markChanged(user.getId());
     }
 
     public void save(StockHolding stockHolding) {
@@ -0,0 +1,128 @@
+package com.a502.backend.domain.stock;
+
+import com.a502.backend.domain.stock.response.StockOrderDelta;
+import com.a502.backend.domain.stock.response.StockOrderLevelChange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BinaryOperator;
+
+/**
+ * 시세 메시지 묶음 전송기 (conflation)
+ * <p>
+ * 토픽마다 window-ms 동안 들어온 메시지를 하나로 합쳐서 전용 스레드에서 보낸다.
+ * 전체 상태 메시지는 마지막 것만 남기고, 호가 변경분은 가격별로 마지막 잔량만 남긴다.
+ * 주문이 몰려도 토픽당 window-ms 에 한 번만 브로커로 나가므로 outbound 채널이 밀리지 않는다.
+ * <p>
+ * stock.market-data.frames 지표 : sent(보낸 메시지), merged(합쳐져 따로 보내지 않은 메시지), dropped(전송 실패)
+ */
+@Slf4j
+@Component
+public class StockMarketDataPublisher {
+	private final SimpMessageSendingOperations sendingOperations;
+	private final ScheduledExecutorService executor;
+	private final Map<String, Object> pending = new ConcurrentHashMap<>();
+	private final Counter sent;
+	private final Counter merged;
+	private final Counter dropped;
+
+	@Value("${stock.market-data.window-ms:50}")
+	private long windowMs;
+
+	public StockMarketDataPublisher(SimpMessageSendingOperations sendingOperations, MeterRegistry meterRegistry) {
+		this.sendingOperations = sendingOperations;
+		this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "stock-market-data");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.sent = meterRegistry.counter("stock.market-data.frames", "result", "sent");
+		this.merged = meterRegistry.counter("stock.market-data.frames", "result", "merged");
+		this.dropped = meterRegistry.counter("stock.market-data.frames", "result", "dropped");
+	}
+
+	/**
+	 * 전체 상태 메시지 전송 (같은 window 안에서는 마지막 것만 보낸다)
+	 */
+	public void publishLatest(String topic, Object frame) {
+		publish(topic, frame, (previous, next) -> next);
+	}
+
+	/**
+	 * 호가 변경분 전송 (같은 window 안의 변경분은 가격별 마지막 잔량으로 합친다)
+	 */
+	public void publishDelta(String topic, StockOrderDelta delta) {
+		publish(topic, delta, (previous, next) -> merge((StockOrderDelta) previous, (StockOrderDelta) next));
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	private void publish(String topic, Object frame, BinaryOperator<Object> merger) {
+		pending.compute(topic, (key, previous) -> {
+			if (previous == null) {
+				schedule(topic);
+				return frame;
+			}
+			merged.increment();
+			return merger.apply(previous, frame);
+		});
+	}
+
+	private void schedule(String topic) {
+		try {
+			executor.schedule(() -> flush(topic), windowMs, TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException e) {
+			dropped.increment();
+		}
+	}
+
+	private void flush(String topic) {
+		Object frame = pending.remove(topic);
+		if (frame == null)
+			return;
+		try {
+			sendingOperations.convertAndSend(topic, frame);
+			sent.increment();
+		} catch (RuntimeException e) {
+			dropped.increment();
+			log.warn("market data send failed. topic : {}, message : {}", topic, e.getMessage());
+		}
+	}
+
+	/**
+	 * 뒤 변경분이 reset 이면 앞의 것은 필요 없고, 아니면 앞 변경분 위에 가격별로 덮어쓴다.
+	 */
+	private static StockOrderDelta merge(StockOrderDelta previous, StockOrderDelta next) {
+		if (next.isReset())
+			return StockOrderDelta.builder()
+					.firstSeq(previous.getFirstSeq())
+					.seq(next.getSeq())
+					.reset(true)
+					.price(next.getPrice())
+					.changes(next.getChanges())
+					.build();
+
+		Map<String, StockOrderLevelChange> changes = new LinkedHashMap<>();
+		for (StockOrderLevelChange change : previous.getChanges())
+			changes.put(change.getType() + ":" + change.getPrice(), change);
+		for (StockOrderLevelChange change : next.getChanges())
+			changes.put(change.getType() + ":" + change.getPrice(), change);
+		return StockOrderDelta.builder()
+				.firstSeq(previous.getFirstSeq())
+				.seq(next.getSeq())
+				.reset(previous.isReset())
+				.price(next.getPrice())
+				.changes(new ArrayList<>(changes.values()))
+				.build();
+	}
+}
@@ -0,0 +1,54 @@
+package com.a502.backend.domain.stock;
+
+import com.a502.backend.application.entity.Stock;
+import com.a502.backend.domain.parking.ParkingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 호가창 복원 및 주기적 스냅샷
+ * <p>
+ * 서버가 뜨면 종목별로 저널에서 호가창을 복원하고 주문에 묶인 금액/주식 수를 다시 계산한다.
+ * 이후 일정 주기마다 스냅샷을 남겨 저널 길이를 제한한다.
+ * 노드마다 자기 저널을 다루므로 클러스터 단위로 한 번만 실행할 필요가 없다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class StockOrderBookCheckpointer {
+	private final StocksService stocksService;
+	private final StockOrderBookService stockOrderBookService;
+	private final StockOrderSequencer stockOrderSequencer;
+	private final StockHoldingsService stockHoldingsService;
+	private final ParkingService parkingService;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void recover() {
+		long start = System.currentTimeMillis();
+		for (Stock stock : stocksService.findAllList()) {
+			stockOrderSequencer.run(stock.getId(), () -> {
+				stockOrderBookService.recover(stock);
+				stockOrderBookService.snapshot(stock.getId());
+			});
+		}
+		// 저널의 체결이 모두 반영된 뒤 거래중 주문 기준으로 묶인 금액/주식 수를 맞춘다
+		parkingService.rebuildReserved();
+		stockHoldingsService.rebuildReservedCnt();
+		log.info("order books recovered in {} ms", System.currentTimeMillis() - start);
+	}
+
+	@Scheduled(fixedDelayString = "${stock.journal.snapshot-interval-ms:60000}")
+	public void snapshot() {
+		for (int stockId : stockOrderBookService.getOrderBookStockIds()) {
+			try {
+				stockOrderSequencer.run(stockId, () -> stockOrderBookService.snapshot(stockId));
+			} catch (RuntimeException e) {
+				log.warn("order book snapshot failed. stock id : {}, message : {}", stockId, e.getMessage());
+			}
+		}
+	}
+}
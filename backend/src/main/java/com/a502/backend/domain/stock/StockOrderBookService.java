@@ -0,0 +1,344 @@
+package com.a502.backend.domain.stock;
+
+import com.a502.backend.application.entity.Stock;
+import com.a502.backend.application.entity.StockBuy;
+import com.a502.backend.application.entity.StockSell;
+import com.a502.backend.domain.stock.journal.JournalRecord;
+import com.a502.backend.domain.stock.journal.StockOrderJournal;
+import com.a502.backend.domain.stock.orderbook.OrderBook;
+import com.a502.backend.domain.stock.orderbook.OrderFill;
+import com.a502.backend.domain.stock.orderbook.OrderSide;
+import com.a502.backend.domain.stock.orderbook.RestingOrder;
+import com.a502.backend.domain.stock.response.PriceAndStockOrderList;
+import com.a502.backend.global.common.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목별 메모리 호가창 관리
+ * <p>
+ * 호가창은 재시작 시 저널(스냅샷 + 이후 주문 기록)로 복원하고, 저널이 없으면 DB 의 미체결 주문(거래중)으로 만든다.
+ * 이후 주문/체결은 메모리에서만 매칭하고, 커밋되면 저널에 순서대로 덧붙인 뒤 체결 저장을 StockFillWriter 에 넘긴다.
+ * 트랜잭션이 롤백되면 해당 종목의 호가창을 버리고 다음 조회 때 DB 에서 다시 만든다.
+ * <p>
+ * 종목의 호가창과 저널은 그 종목의 StockOrderSequencer 스레드에서만 다룬다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class StockOrderBookService {
+	private final StockBuysRepository stockBuysRepository;
+	private final StockSellsRepository stockSellsRepository;
+	private final StockFillWriter stockFillWriter;
+	private final StockOrderSequencer stockOrderSequencer;
+	private final StockOrderDepthPublisher stockOrderDepthPublisher;
+	private final StockOrderCancelJdbcRepository stockOrderCancelJdbcRepository;
+	private final Map<Integer, OrderBook> orderBooks = new ConcurrentHashMap<>();
+	private final Map<Integer, StockOrderJournal> journals = new ConcurrentHashMap<>();
+
+	@Value("${stock.journal.enabled:false}")
+	private boolean journalEnabled;
+
+	@Value("${stock.journal.directory:stock-journal}")
+	private String journalDirectory;
+
+	@Value("${stock.journal.segment-size:67108864}")
+	private int journalSegmentSize;
+
+	public OrderBook getOrderBook(Stock stock) {
+		return orderBooks.computeIfAbsent(stock.getId(), id -> load(stock));
+	}
+
+	/**
+	 * 호가창이 메모리에 없으면 DB 에서 만들어 두는 메서드
+	 * 호가창을 바꾸지 않으므로 롤백돼도 호가창을 버리지 않는다. 주문 확인에서 거절돼도 다음 주문이 호가창을 다시 만들지 않는다.
+	 */
+	public void ensureLoaded(Stock stock) {
+		getOrderBook(stock);
+	}
+
+	/**
+	 * 이번 트랜잭션에서 바꿀 호가창, 롤백되면 메모리 호가창이 DB 와 달라지므로 버린다.
+	 */
+	private OrderBook getOrderBookForUpdate(Stock stock) {
+		OrderBook orderBook = getOrderBook(stock);
+		invalidateOnRollback(stock.getId());
+		return orderBook;
+	}
+
+	/**
+	 * 들어온 주문을 호가창과 체결하는 메서드
+	 * rest 이면 남은 수량은 호가창에 올리고, 아니면 버린다.
+	 * 저널 기록과 체결 저장 요청은 종목 트랜잭션이 커밋된 뒤에 한다.
+	 *
+	 * @return 체결 목록과 체결 저장 future
+	 */
+	public StockOrderMatch match(Stock stock, RestingOrder order, boolean rest) {
+		OrderBook orderBook = getOrderBookForUpdate(stock);
+		List<JournalRecord> records = new ArrayList<>();
+		records.add(JournalRecord.order(order));
+		List<OrderFill> fills = orderBook.match(order);
+		for (OrderFill fill : fills)
+			records.add(JournalRecord.fill(fill));
+		if (rest) {
+			orderBook.rest(order);
+		} else if (order.getRemaining() > 0) {
+			// 저널 재생 시 ORDER 는 남은 수량을 호가창에 올리므로 취소 기록으로 내린다
+			records.add(JournalRecord.cancel(order.getSide(), order.getOrderId()));
+		}
+
+		CompletableFuture<Void> persisted = new CompletableFuture<>();
+		AfterCommit.run(() -> {
+			submitFills(stock, records, fills, persisted);
+			stockOrderDepthPublisher.publish(stock, orderBook, fills);
+		});
+		return new StockOrderMatch(fills, persisted);
+	}
+
+	/**
+	 * 재시작 시 저널로 호가창을 복원하는 메서드
+	 * 복원할 수 없으면 DB 에서 다시 만든다.
+	 */
+	public void recover(Stock stock) {
+		Optional<OrderBook> recovered = Optional.empty();
+		if (journalEnabled) {
+			try {
+				replayFills(stock);
+				recovered = journal(stock.getId()).recover(stock.getId());
+			} catch (IOException | RuntimeException e) {
+				log.warn("order book journal recovery failed. stock : {}, message : {}", stock.getName(), e.getMessage());
+			}
+		}
+		if (recovered.isPresent()) {
+			orderBooks.put(stock.getId(), recovered.get());
+			log.info("order book recovered from journal. stock : {}, orders : {}", stock.getName(), recovered.get().getOrderCount());
+		} else {
+			orderBooks.put(stock.getId(), load(stock));
+		}
+	}
+
+	/**
+	 * 지정가로 바로 체결할 수 있는 수량 (FOK 확인용, 호가창을 바꾸지 않는다)
+	 */
+	public int fillableQuantity(Stock stock, OrderSide side, int price, int cnt) {
+		return getOrderBook(stock).fillableQuantity(side, price, cnt);
+	}
+
+	/**
+	 * 거래중 주문을 주문 id 순으로 limit 개까지 취소하는 메서드 (장 마감용)
+	 * 묶인 금액/주식 수를 풀고 DB 와 호가창에서 함께 내리므로 호가창을 다시 만들 필요가 없다.
+	 * 종목 스레드에서 호출해야 한다.
+	 *
+	 * @return 취소한 주문 수
+	 */
+	public int cancelOpenOrders(Stock stock, OrderSide side, int limit, String cancelCodeId) {
+		int stockId = stock.getId();
+		stockFillWriter.drain(stockId);
+		List<Integer> ids = side == OrderSide.BUY
+				? stockOrderCancelJdbcRepository.findOpenedBuyIds(stockId, limit)
+				: stockOrderCancelJdbcRepository.findOpenedSellIds(stockId, limit);
+		if (ids.isEmpty())
+			return 0;
+
+		int fromId = ids.get(0);
+		int toId = ids.get(ids.size() - 1);
+		int canceled;
+		if (side == OrderSide.BUY) {
+			stockOrderCancelJdbcRepository.releaseBuyReservations(stockId, fromId, toId);
+			canceled = stockOrderCancelJdbcRepository.cancelBuys(stockId, fromId, toId, cancelCodeId);
+		} else {
+			stockOrderCancelJdbcRepository.releaseSellReservations(stockId, fromId, toId);
+			canceled = stockOrderCancelJdbcRepository.cancelSells(stockId, fromId, toId, cancelCodeId);
+		}
+
+		OrderBook orderBook = getOrderBookForUpdate(stock);
+		List<JournalRecord> records = new ArrayList<>(ids.size());
+		for (int id : ids) {
+			if (orderBook.cancel(side, id) != null)
+				records.add(JournalRecord.cancel(side, id));
+		}
+		AfterCommit.run(() -> {
+			for (JournalRecord record : records)
+				append(stockId, record);
+			stockOrderDepthPublisher.publish(stock, orderBook, List.of());
+		});
+		return canceled;
+	}
+
+	public void invalidate(int stockId) {
+		stockOrderDepthPublisher.clear(stockId);
+		if (orderBooks.remove(stockId) != null)
+			append(stockId, JournalRecord.reset());
+	}
+
+	/**
+	 * 호가창 전체로 호가를 다시 만들어 보내는 메서드
+	 * 종목 스레드에서 호출해야 한다.
+	 */
+	public PriceAndStockOrderList publishDepth(Stock stock) {
+		return stockOrderDepthPublisher.refresh(stock, getOrderBook(stock));
+	}
+
+	public Set<Integer> getOrderBookStockIds() {
+		return Set.copyOf(orderBooks.keySet());
+	}
+
+	/**
+	 * 호가창 스냅샷을 남기고 지난 저널을 정리하는 메서드
+	 */
+	public void snapshot(int stockId) {
+		OrderBook orderBook = orderBooks.get(stockId);
+		if (!journalEnabled || orderBook == null)
+			return;
+		stockFillWriter.drain(stockId);
+		try {
+			StockOrderJournal journal = journal(stockId);
+			journal.writeSnapshot(orderBook);
+			journal.force();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public RestingOrder toRestingOrder(StockBuy stockBuy) {
+		return RestingOrder.builder()
+				.orderId(stockBuy.getId())
+				.userId(stockBuy.getUser().getId())
+				.side(OrderSide.BUY)
+				.price(stockBuy.getPrice())
+				.remaining(stockBuy.getCntNot())
+				.build();
+	}
+
+	public RestingOrder toRestingOrder(StockSell stockSell) {
+		return RestingOrder.builder()
+				.orderId(stockSell.getId())
+				.userId(stockSell.getUser().getId())
+				.side(OrderSide.SELL)
+				.price(stockSell.getPrice())
+				.remaining(stockSell.getCntNot())
+				.build();
+	}
+
+	@PreDestroy
+	public void closeJournals() {
+		for (StockOrderJournal journal : journals.values()) {
+			try {
+				journal.close();
+			} catch (IOException e) {
+				log.warn("order book journal close failed. message : {}", e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * DB 로 만든 호가창은 저널만으로 재현할 수 없으므로 RESET 을 남기고 곧바로 스냅샷을 찍는다.
+	 * 아직 저장 중인 체결이 있으면 미체결 수량이 어긋나므로 먼저 기다린다.
+	 */
+	private OrderBook load(Stock stock) {
+		stockFillWriter.drain(stock.getId());
+		OrderBook orderBook = new OrderBook(stock.getId());
+		for (StockBuy stockBuy : stockBuysRepository.findAllOpenedByStock(stock))
+			orderBook.rest(toRestingOrder(stockBuy));
+		for (StockSell stockSell : stockSellsRepository.findAllOpenedByStock(stock))
+			orderBook.rest(toRestingOrder(stockSell));
+		log.info("order book loaded. stock : {}, orders : {}", stock.getName(), orderBook.getOrderCount());
+
+		if (journalEnabled) {
+			try {
+				StockOrderJournal journal = journal(stock.getId());
+				journal.append(JournalRecord.reset());
+				journal.writeSnapshot(orderBook);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return orderBook;
+	}
+
+	private void append(int stockId, JournalRecord record) {
+		if (!journalEnabled)
+			return;
+		try {
+			journal(stockId).append(record);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * 커밋된 주문을 저널에 남기고 체결 저장을 요청하는 메서드
+	 * 저장에 실패하면 메모리 호가창이 DB 와 달라지므로 호가창을 버린다.
+	 */
+	private void submitFills(Stock stock, List<JournalRecord> records, List<OrderFill> fills, CompletableFuture<Void> persisted) {
+		long lastSeq = 0;
+		if (journalEnabled) {
+			try {
+				StockOrderJournal journal = journal(stock.getId());
+				for (JournalRecord record : records)
+					lastSeq = journal.append(record);
+			} catch (IOException | RuntimeException e) {
+				log.error("order book journal append failed. stock : {}, message : {}", stock.getName(), e.getMessage());
+				lastSeq = 0;
+			}
+		}
+		stockFillWriter.submit(stock.getId(), stock.getName(), fills, lastSeq).whenComplete((result, e) -> {
+			if (e == null) {
+				persisted.complete(null);
+				return;
+			}
+			stockOrderSequencer.submit(stock.getId(), () -> invalidate(stock.getId()));
+			persisted.completeExceptionally(e);
+		});
+	}
+
+	/**
+	 * 저널에는 있지만 DB 에 저장되지 않은 체결을 저장하는 메서드
+	 * 마지막 RESET 이전 체결은 DB 에서 호가창을 다시 만들 때 버려진 것이므로 제외한다.
+	 */
+	private void replayFills(Stock stock) throws IOException {
+		List<JournalRecord> unpersisted = new ArrayList<>();
+		journal(stock.getId()).replay(stockFillWriter.getCheckpoint(stock.getId()), record -> {
+			switch (record.type()) {
+				case FILL -> unpersisted.add(record);
+				case RESET -> unpersisted.clear();
+				default -> {
+				}
+			}
+		});
+		stockFillWriter.replay(stock.getId(), stock.getName(), unpersisted);
+	}
+
+	private StockOrderJournal journal(int stockId) throws IOException {
+		StockOrderJournal journal = journals.get(stockId);
+		if (journal == null) {
+			journal = new StockOrderJournal(Path.of(journalDirectory, "stock-" + stockId), journalSegmentSize);
+			journals.put(stockId, journal);
+		}
+		return journal;
+	}
+
+	private void invalidateOnRollback(int stockId) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive())
+			return;
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				if (status != STATUS_COMMITTED)
+					invalidate(stockId);
+			}
+		});
+	}
+}
@@ -0,0 +1,84 @@
+package com.a502.backend.domain.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 거래중 주문 일괄 취소용 JDBC 쿼리
+ * 주문 id 순으로 chunk 만큼 잘라서, 묶인 금액/주식 수를 회원 id 순으로 풀고 주문 코드를 한 번에 바꾼다.
+ */
+@Repository
+@RequiredArgsConstructor
+class StockOrderCancelJdbcRepository {
+	private final JdbcTemplate jdbcTemplate;
+
+	List<Integer> findOpenedBuyIds(int stockId, int limit) {
+		return jdbcTemplate.queryForList("""
+				select stock_buy_id from stock_buys
+				where stock_id = ? and code_id = 'S001'
+				order by stock_buy_id
+				limit ?
+				""", Integer.class, stockId, limit);
+	}
+
+	List<Integer> findOpenedSellIds(int stockId, int limit) {
+		return jdbcTemplate.queryForList("""
+				select stock_sell_id from stock_sells
+				where stock_id = ? and code_id = 'S001'
+				order by stock_sell_id
+				limit ?
+				""", Integer.class, stockId, limit);
+	}
+
+	/**
+	 * 취소할 매수 주문에 묶인 금액을 회원별로 합쳐서 푸는 메서드
+	 * StockFillWriter 와 같은 순서(회원 id 순)로 파킹통장을 잠근다.
+	 */
+	void releaseBuyReservations(int stockId, int fromId, int toId) {
+		List<Object[]> rows = new ArrayList<>();
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		jdbcTemplate.query("""
+				select user_id, sum(price * cnt_not) from stock_buys
+				where stock_id = ? and code_id = 'S001' and stock_buy_id between ? and ?
+				group by user_id
+				order by user_id
+				""", rs -> {
+			rows.add(new Object[]{rs.getInt(2), now, rs.getInt(1)});
+		}, stockId, fromId, toId);
+		jdbcTemplate.batchUpdate("update parkings set reserved = reserved - ?, updated_at = ? where user_id = ?", rows);
+	}
+
+	void releaseSellReservations(int stockId, int fromId, int toId) {
+		List<Object[]> rows = new ArrayList<>();
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		jdbcTemplate.query("""
+				select user_id, sum(cnt_not) from stock_sells
+				where stock_id = ? and code_id = 'S001' and stock_sell_id between ? and ?
+				group by user_id
+				order by user_id
+				""", rs -> {
+			rows.add(new Object[]{rs.getInt(2), now, rs.getInt(1), stockId});
+		}, stockId, fromId, toId);
+		jdbcTemplate.batchUpdate("update stock_holdings set reserved_cnt = reserved_cnt - ?, updated_at = ? where user_id = ? and stock_id = ?", rows);
+	}
+
+	int cancelBuys(int stockId, int fromId, int toId, String cancelCodeId) {
+		return jdbcTemplate.update("""
+				update stock_buys set code_id = ?, updated_at = ?
+				where stock_id = ? and code_id = 'S001' and stock_buy_id between ? and ?
+				""", cancelCodeId, Timestamp.valueOf(LocalDateTime.now()), stockId, fromId, toId);
+	}
+
+	int cancelSells(int stockId, int fromId, int toId, String cancelCodeId) {
+		return jdbcTemplate.update("""
+				update stock_sells set code_id = ?, updated_at = ?
+				where stock_id = ? and code_id = 'S001' and stock_sell_id between ? and ?
+				""", cancelCodeId, Timestamp.valueOf(LocalDateTime.now()), stockId, fromId, toId);
+	}
+}
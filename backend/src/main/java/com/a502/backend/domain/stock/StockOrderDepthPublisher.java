@@ -0,0 +1,148 @@
+package com.a502.backend.domain.stock;
+
+import com.a502.backend.application.entity.Stock;
+import com.a502.backend.domain.stock.orderbook.DepthChange;
+import com.a502.backend.domain.stock.orderbook.OrderBook;
+import com.a502.backend.domain.stock.orderbook.OrderFill;
+import com.a502.backend.domain.stock.orderbook.OrderSide;
+import com.a502.backend.domain.stock.orderbook.PriceLevel;
+import com.a502.backend.domain.stock.response.PriceAndStockOrderList;
+import com.a502.backend.domain.stock.response.StockOrderDelta;
+import com.a502.backend.domain.stock.response.StockOrderLevelChange;
+import com.a502.backend.domain.stock.response.StockOrderList;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목별 호가(가격별 잔량) 관리 및 전송
+ * <p>
+ * 호가창이 바뀐 가격만 받아 호가를 고치고, 바뀐 칸을 seq 와 함께 /sub/orders/{name}/delta 로 보낸다.
+ * 전체 호가는 기존 화면을 위해 /sub/orders/{name} 으로도 보내고, 구독 시 스냅샷으로 돌려준다.
+ * 실제 전송은 StockMarketDataPublisher 가 묶어서 한다.
+ * <p>
+ * 호가 변경은 그 종목의 StockOrderSequencer 스레드에서만 하고, 다른 스레드는 만들어 둔 스냅샷만 읽는다.
+ */
+@RequiredArgsConstructor
+@Component
+public class StockOrderDepthPublisher {
+	private static final String ORDER_TOPIC = "/sub/orders/";
+	private static final String DELTA_SUFFIX = "/delta";
+
+	private final StockMarketDataPublisher stockMarketDataPublisher;
+	private final StockDetailsService stockDetailsService;
+	private final Map<Integer, StockDepth> depths = new ConcurrentHashMap<>();
+
+	private static class StockDepth {
+		private final OrderBook orderBook;
+		private final NavigableMap<Integer, Integer> bids = new TreeMap<>(Comparator.reverseOrder());
+		private final NavigableMap<Integer, Integer> asks = new TreeMap<>(Comparator.reverseOrder());
+		private long seq;
+		private int price;
+		private volatile PriceAndStockOrderList snapshot;
+
+		private StockDepth(OrderBook orderBook, long seq, int price) {
+			this.orderBook = orderBook;
+			this.seq = seq;
+			this.price = price;
+		}
+	}
+
+	/**
+	 * 주문 처리 후 바뀐 호가를 반영하고 보내는 메서드
+	 * 호가창이 새로 만들어졌으면 호가 전체를 다시 그리도록 reset 으로 보낸다.
+	 *
+	 * @param fills 이번 주문의 체결 목록 (현재가 갱신용)
+	 */
+	public void publish(Stock stock, OrderBook orderBook, List<OrderFill> fills) {
+		StockDepth depth = depths.get(stock.getId());
+		if (depth == null || depth.orderBook != orderBook) {
+			refresh(stock, orderBook);
+			return;
+		}
+		List<DepthChange> changes = orderBook.drainDepthChanges();
+		int price = fills.isEmpty() ? depth.price : fills.get(fills.size() - 1).price();
+		if (changes.isEmpty() && price == depth.price)
+			return;
+
+		depth.price = price;
+		for (DepthChange change : changes) {
+			NavigableMap<Integer, Integer> levels = change.side() == OrderSide.BUY ? depth.bids : depth.asks;
+			if (change.cnt() == 0)
+				levels.remove(change.price());
+			else
+				levels.put(change.price(), change.cnt());
+		}
+		send(stock, depth, false, changes);
+	}
+
+	/**
+	 * 호가창 전체로 호가를 다시 만들고 reset 으로 보내는 메서드
+	 * 현재가도 StockDetail 에서 다시 읽는다.
+	 *
+	 * @return 새 스냅샷
+	 */
+	public PriceAndStockOrderList refresh(Stock stock, OrderBook orderBook) {
+		StockDepth previous = depths.get(stock.getId());
+		StockDepth depth = new StockDepth(orderBook, previous == null ? 0 : previous.seq, stockDetailsService.getLastDetail(stock).getPrice());
+		orderBook.drainDepthChanges();
+
+		List<DepthChange> changes = new ArrayList<>();
+		for (PriceLevel level : orderBook.getBids().values()) {
+			depth.bids.put(level.getPrice(), level.getTotalQuantity());
+			changes.add(new DepthChange(OrderSide.BUY, level.getPrice(), level.getTotalQuantity()));
+		}
+		for (PriceLevel level : orderBook.getAsks().values()) {
+			depth.asks.put(level.getPrice(), level.getTotalQuantity());
+			changes.add(new DepthChange(OrderSide.SELL, level.getPrice(), level.getTotalQuantity()));
+		}
+		depths.put(stock.getId(), depth);
+		send(stock, depth, true, changes);
+		return depth.snapshot;
+	}
+
+	/**
+	 * 호가창을 버렸을 때 호출한다. 다음 publish 에서 호가 전체를 다시 그린다.
+	 */
+	public void clear(int stockId) {
+		StockDepth depth = depths.get(stockId);
+		if (depth != null)
+			depth.snapshot = null;
+	}
+
+	public Optional<PriceAndStockOrderList> getSnapshot(int stockId) {
+		StockDepth depth = depths.get(stockId);
+		return depth == null ? Optional.empty() : Optional.ofNullable(depth.snapshot);
+	}
+
+	private void send(Stock stock, StockDepth depth, boolean reset, List<DepthChange> changes) {
+		depth.seq++;
+		List<StockOrderList> stockOrderList = new ArrayList<>(depth.asks.size() + depth.bids.size());
+		depth.asks.forEach((price, cnt) -> stockOrderList.add(StockOrderList.builder().sellOrderCnt(cnt).price(price).build()));
+		depth.bids.forEach((price, cnt) -> stockOrderList.add(StockOrderList.builder().buyOrderCnt(cnt).price(price).build()));
+		depth.snapshot = PriceAndStockOrderList.builder()
+				.seq(depth.seq)
+				.price(depth.price)
+				.stockOrderList(stockOrderList)
+				.build();
+
+		List<StockOrderLevelChange> levelChanges = new ArrayList<>(changes.size());
+		for (DepthChange change : changes) {
+			levelChanges.add(StockOrderLevelChange.builder()
+					.type(change.side() == OrderSide.BUY ? "매수" : "매도")
+					.price(change.price())
+					.cnt(change.cnt())
+					.build());
+		}
+		stockMarketDataPublisher.publishDelta(ORDER_TOPIC + stock.getName() + DELTA_SUFFIX, StockOrderDelta.builder()
+				.firstSeq(depth.seq)
+				.seq(depth.seq)
+				.reset(reset)
+				.price(depth.price)
+				.changes(levelChanges)
+				.build());
+		stockMarketDataPublisher.publishLatest(ORDER_TOPIC + stock.getName(), depth.snapshot);
+	}
+}
@@ -0,0 +1,15 @@
+package com.a502.backend.domain.stock;
+
+import com.a502.backend.domain.stock.orderbook.OrderFill;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 주문 하나의 매칭 결과
+ *
+ * @param fills     체결 목록
+ * @param persisted 체결이 DB 에 저장되면 완료되는 future
+ */
+public record StockOrderMatch(List<OrderFill> fills, CompletableFuture<Void> persisted) {
+}
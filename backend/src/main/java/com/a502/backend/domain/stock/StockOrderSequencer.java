@@ -0,0 +1,109 @@
+package com.a502.backend.domain.stock;
+
+import com.a502.backend.global.error.BusinessException;
+import com.a502.backend.global.exception.ErrorCode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * 종목별 단일 스레드 주문 처리기
+ * <p>
+ * 종목마다 전용 스레드 하나와 크기가 정해진 대기열을 두고, 그 종목의 주문/체결/호가창 변경은
+ * 모두 이 스레드에서 하나의 트랜잭션으로 순서대로 처리한다.
+ * 서로 다른 종목의 주문은 서로를 기다리지 않는다.
+ */
+@Slf4j
+@Service
+public class StockOrderSequencer {
+	private final TransactionTemplate transactionTemplate;
+	private final Map<Integer, ThreadPoolExecutor> lanes = new ConcurrentHashMap<>();
+
+	@Value("${stock.sequencer.queue-capacity:1024}")
+	private int queueCapacity;
+
+	public StockOrderSequencer(TransactionTemplate transactionTemplate) {
+		this.transactionTemplate = transactionTemplate;
+	}
+
+	/**
+	 * 종목 스레드에서 작업을 트랜잭션으로 실행하고 결과를 기다리는 메서드
+	 * 대기열이 가득 차면 바로 거절한다.
+	 *
+	 * @param stockId 주식 id
+	 * @param task    종목 스레드에서 실행할 작업
+	 * @return 작업 결과
+	 */
+	public <T> T execute(int stockId, Supplier<T> task) {
+		Future<T> future;
+		try {
+			future = lane(stockId).submit(() -> transactionTemplate.execute(status -> task.get()));
+		} catch (RejectedExecutionException e) {
+			log.warn("stock order queue is full. stock id : {}", stockId);
+			throw BusinessException.of(ErrorCode.API_ERROR_STOCK_ORDER_QUEUE_FULL);
+		}
+		return await(future);
+	}
+
+	public void run(int stockId, Runnable task) {
+		execute(stockId, () -> {
+			task.run();
+			return null;
+		});
+	}
+
+	/**
+	 * 종목 스레드에 작업을 넣기만 하고 기다리지 않는 메서드
+	 * 다른 스레드의 콜백에서 종목 상태를 바꿔야 할 때 사용한다.
+	 */
+	public void submit(int stockId, Runnable task) {
+		try {
+			lane(stockId).execute(() -> {
+				try {
+					transactionTemplate.executeWithoutResult(status -> task.run());
+				} catch (RuntimeException e) {
+					log.error("stock sequencer task failed. stock id : {}, message : {}", stockId, e.getMessage());
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			log.error("stock order queue is full. task dropped. stock id : {}", stockId);
+		}
+	}
+
+	private ThreadPoolExecutor lane(int stockId) {
+		return lanes.computeIfAbsent(stockId, id -> new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				runnable -> {
+					Thread thread = new Thread(runnable, "stock-sequencer-" + id);
+					thread.setDaemon(true);
+					return thread;
+				}));
+	}
+
+	private static <T> T await(Future<T> future) {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException)
+				throw runtimeException;
+			throw new IllegalStateException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw BusinessException.of(ErrorCode.API_ERROR_INTERNAL_SERVER);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		for (ThreadPoolExecutor lane : lanes.values())
+			lane.shutdown();
+		for (ThreadPoolExecutor lane : lanes.values())
+			lane.awaitTermination(10, TimeUnit.SECONDS);
+	}
+}
@@ -0,0 +1,16 @@
+package com.a502.backend.domain.stock;
+
+/**
+ * 주문 유형
+ * LIMIT  : 지정가, 남은 수량은 호가창에 올림
+ * MARKET : 시장가, 상한가(매수)/하한가(매도)까지 체결하고 남은 수량은 취소
+ * IOC    : 지정가로 바로 체결되는 만큼만 체결하고 남은 수량은 취소
+ * FOK    : 지정가로 전량 바로 체결될 때만 체결하고, 아니면 주문하지 않음
+ */
+public enum StockOrderType {
+	LIMIT, MARKET, IOC, FOK;
+
+	public boolean rests() {
+		return this == LIMIT;
+	}
+}
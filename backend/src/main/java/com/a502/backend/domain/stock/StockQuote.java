@@ -0,0 +1,61 @@
+package com.a502.backend.domain.stock;
+
+import com.a502.backend.application.entity.Stock;
+import com.a502.backend.application.entity.StockDetail;
+
+import java.time.LocalDate;
+
+/**
+ * 종목 하나의 시세 (MarketSnapshot 이 들고 있는 값)
+ *
+ * @param statDate 거래량/거래대금/체결 건수를 집계한 날짜 (오늘이 아니면 오늘 거래는 0)
+ */
+public record StockQuote(int stockId, String name, String imageUrl,
+						 int price, int startPrice, int highestPrice, int lowestPrice, int upperLimitPrice, int lowerLimitPrice,
+						 LocalDate statDate, long volume, long turnover, long tradeCnt) {
+
+	static StockQuote of(Stock stock, StockDetail detail) {
+		return new StockQuote(stock.getId(), stock.getName(), stock.getImageUrl(),
+				detail.getPrice(), detail.getStartPrice(), detail.getHighestPrice(), detail.getLowestPrice(),
+				detail.getUpperLimitPrice(), detail.getLowerLimitPrice(), null, 0, 0, 0);
+	}
+
+	/**
+	 * 시세는 latest 로 바꾸고 거래 집계는 그대로 둔 값
+	 */
+	StockQuote withPrices(StockQuote latest) {
+		return new StockQuote(stockId, name, imageUrl,
+				latest.price, latest.startPrice, latest.highestPrice, latest.lowestPrice,
+				latest.upperLimitPrice, latest.lowerLimitPrice, statDate, volume, turnover, tradeCnt);
+	}
+
+	/**
+	 * 거래 집계만 바꾼 값
+	 * 집계는 하루 안에서 줄어들지 않으므로 이전 날짜이거나 체결 건수가 더 작은 값은 무시한다.
+	 */
+	StockQuote withStat(LocalDate statDate, long volume, long turnover, long tradeCnt) {
+		if (this.statDate != null && (statDate.isBefore(this.statDate) || statDate.equals(this.statDate) && tradeCnt < this.tradeCnt))
+			return this;
+		return new StockQuote(stockId, name, imageUrl, price, startPrice, highestPrice, lowestPrice, upperLimitPrice, lowerLimitPrice,
+				statDate, volume, turnover, tradeCnt);
+	}
+
+	public long getTodayVolume() {
+		return LocalDate.now().equals(statDate) ? volume : 0;
+	}
+
+	public long getTodayTurnover() {
+		return LocalDate.now().equals(statDate) ? turnover : 0;
+	}
+
+	public long getTodayTradeCnt() {
+		return LocalDate.now().equals(statDate) ? tradeCnt : 0;
+	}
+
+	/**
+	 * 수익률 ((현재가 - 시가) / 시가) * 100, 소수 둘째 자리까지
+	 */
+	public double getIncomeRatio() {
+		return Math.round(((float) (price - startPrice) / startPrice) * 10000) / 100.0;
+	}
+}
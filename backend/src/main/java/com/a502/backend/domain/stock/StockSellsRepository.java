@@ -19,11 +19,14 @@ interface StockSellsRepository extends JpaRepository<StockSell, Integer> {
 	@Query("select ss from StockSell ss where ss.code.id = 'S001' and ss.stock = :stock and ss.price = :price order by ss.createdAt asc")
 	List<StockSell> findAllByStockAndPriceOrderByCreatedAtAsc(Stock stock, int price);
 
+	// 호가창 복원용 미체결 매도 주문 조회 (시간 우선순위)
+	@Query("select ss from StockSell ss where ss.code.id = 'S001' and ss.stock = :stock and ss.cntNot > 0 order by ss.createdAt asc, ss.id asc")
+	List<StockSell> findAllOpenedByStock(Stock stock);
+
 	// 미체결 매도 주문 조회
 	List<StockSell> findAllByUserAndCodeAndCreatedAtGreaterThanAndCntNotGreaterThanOrderByPriceDesc(User user, Code code, LocalDateTime localDateTime, int cnt);
 //	@Lock(LockModeType.PESSIMISTIC_WRITE)
 //	@Transactional
-	List<StockSell> findAllByUserAndStockAndCode(User user, Stock stock, Code code);
 	List<StockSell> findAllByStock(Stock stock);
 	@Query("select ss from StockSell ss where ss.code.id = 'S001'")
 	List<StockSell> findAllTransactionIsOpened();
@@ -43,32 +43,10 @@ public class StockSellsService {
 		return stockSellsRepository.findAllByStockAndPriceOrderByCreatedAtAsc(stock, price);
 	}
 
-	@Transactional
-//	@Lock(LockModeType.PESSIMISTIC_WRITE)
-	public void stockSell(StockSell stocksell, int cnt, Code code) {
-		int cntNot = stocksell.getCntNot();
-		if (cntNot - cnt < 0)
-			throw BusinessException.of(ErrorCode.API_ERROR_STOCKSELL_STOCK_IS_NOT_ENOUGH);
-		stocksell.setCntNot(cntNot - cnt);
-        if (cntNot - cnt == 0)
-			stocksell.updateCode(code);
-		stockSellsRepository.saveAndFlush(stocksell);
-	}
-
 	public List<StockSell> getWaitingStockOrders(User user, Code code, LocalDateTime localDateTime, int cnt) {
 		return stockSellsRepository.findAllByUserAndCodeAndCreatedAtGreaterThanAndCntNotGreaterThanOrderByPriceDesc(user, code, localDateTime, 0);
 	}
 
-	@Transactional
-	public int getStockSellWaitingList(User user, Stock stock, Code code){
-		List<StockSell> list = stockSellsRepository.findAllByUserAndStockAndCode(user, stock, code);
-		int cntNot = 0;
-		for (StockSell sell : list){
-			cntNot += sell.getCntNot();
-		}
-		return cntNot;
-	}
-
 	public List<StockSell> getStockTransListByStock(Stock stock){
 		return stockSellsRepository.findAllByStock(stock);
 	}
@@ -0,0 +1,42 @@
+package com.a502.backend.domain.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 틱 저장/구간 조회용 JDBC 쿼리
+ * 저장은 StockFillWriter 의 batch 트랜잭션 안에서 insert 만 한다.
+ */
+@Repository
+@RequiredArgsConstructor
+class StockTickJdbcRepository {
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * @param rows (stock_id, created_at, price, cnt)
+	 */
+	void insertTicks(List<Object[]> rows) {
+		if (!rows.isEmpty())
+			jdbcTemplate.batchUpdate("insert into stock_ticks (stock_id, created_at, price, cnt) values (?, ?, ?, ?)", rows);
+	}
+
+	/**
+	 * [from, to) 구간의 틱을 시간순으로 읽어 series 에 덧붙이는 메서드
+	 */
+	void findRange(int stockId, LocalDateTime from, LocalDateTime to, StockTickSeries series) {
+		jdbcTemplate.query("""
+						select created_at, price, cnt from stock_ticks
+						where stock_id = ? and created_at >= ? and created_at < ?
+						order by created_at, stock_tick_id
+						""",
+				rs -> {
+					series.append(rs.getTimestamp(1).getTime(), rs.getInt(2), rs.getInt(3));
+				},
+				stockId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+	}
+}
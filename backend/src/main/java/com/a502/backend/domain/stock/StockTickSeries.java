@@ -0,0 +1,126 @@
+package com.a502.backend.domain.stock;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 종목 하나의 틱을 시간순으로 모아두는 배열
+ * <p>
+ * 틱마다 객체를 만들지 않고 시각(epoch ms), 체결가, 체결 수량을 각각의 배열 끝에 덧붙인다.
+ * 시간순으로만 쌓이므로 구간 조회는 이진 탐색으로 시작/끝 위치를 찾는다.
+ * 쓰기는 체결 저장 스레드 하나, 읽기는 여러 스레드에서 하므로 메서드 단위로 동기화한다.
+ */
+public class StockTickSeries {
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private long[] times;
+	private int[] prices;
+	private int[] cnts;
+	private int size;
+
+	public StockTickSeries() {
+		this(INITIAL_CAPACITY);
+	}
+
+	public StockTickSeries(int capacity) {
+		int initial = Math.max(capacity, 16);
+		times = new long[initial];
+		prices = new int[initial];
+		cnts = new int[initial];
+	}
+
+	/**
+	 * 틱을 끝에 덧붙이는 메서드
+	 * 시계가 뒤로 가더라도 순서가 깨지지 않도록 앞 틱보다 이른 시각은 앞 틱 시각으로 맞춘다.
+	 */
+	public synchronized void append(long time, int price, int cnt) {
+		if (size == times.length) {
+			int capacity = size + (size >> 1);
+			times = Arrays.copyOf(times, capacity);
+			prices = Arrays.copyOf(prices, capacity);
+			cnts = Arrays.copyOf(cnts, capacity);
+		}
+		times[size] = size > 0 ? Math.max(time, times[size - 1]) : time;
+		prices[size] = price;
+		cnts[size] = cnt;
+		size++;
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * 가장 오래된 틱 시각 (틱이 없으면 Long.MAX_VALUE)
+	 */
+	public synchronized long firstTime() {
+		return size == 0 ? Long.MAX_VALUE : times[0];
+	}
+
+	/**
+	 * [from, to) 구간의 틱 수
+	 */
+	public synchronized int count(long from, long to) {
+		return Math.max(0, lowerBound(to) - lowerBound(from));
+	}
+
+	/**
+	 * [from, to) 구간을 points 개의 같은 길이 구간으로 나눠 구간마다 봉 하나로 줄이는 메서드
+	 * 틱이 없는 구간은 건너뛰므로 결과는 points 개 이하이고, 봉의 시각은 구간 시작 시각이다.
+	 */
+	public synchronized List<StockCandleBar> downsample(long from, long to, int points) {
+		int start = lowerBound(from);
+		int end = lowerBound(to);
+		List<StockCandleBar> bars = new ArrayList<>(Math.min(points, Math.max(0, end - start)));
+		if (start >= end || points <= 0)
+			return bars;
+		long width = Math.max(1, (to - from + points - 1) / points);
+
+		int i = start;
+		while (i < end) {
+			long bucketStart = from + (times[i] - from) / width * width;
+			long bucketEnd = bucketStart + width;
+			int startPrice = prices[i];
+			int highestPrice = startPrice;
+			int lowestPrice = startPrice;
+			int cnt = 0;
+			int j = i;
+			for (; j < end && times[j] < bucketEnd; j++) {
+				highestPrice = Math.max(highestPrice, prices[j]);
+				lowestPrice = Math.min(lowestPrice, prices[j]);
+				cnt += cnts[j];
+			}
+			bars.add(new StockCandleBar(toLocalDateTime(bucketStart), startPrice, highestPrice, lowestPrice, prices[j - 1], cnt));
+			i = j;
+		}
+		return bars;
+	}
+
+	/**
+	 * time 이상인 첫 틱의 위치
+	 */
+	private int lowerBound(long time) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (times[mid] < time)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+
+	public static long toEpochMilli(LocalDateTime time) {
+		return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+
+	public static LocalDateTime toLocalDateTime(long epochMilli) {
+		return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+	}
+}
@@ -0,0 +1,115 @@
+package com.a502.backend.domain.stock;
+
+import com.a502.backend.application.entity.Stock;
+import com.a502.backend.global.error.BusinessException;
+import com.a502.backend.global.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 장중 틱 저장소
+ * <p>
+ * 체결 틱은 StockFillWriter 의 batch 에서 stock_ticks 에 덧붙이고, 오늘 틱은 종목별 StockTickSeries 에도 쌓아둔다.
+ * 오늘 구간 조회는 메모리에서, 이전 날짜가 섞인 구간은 DB 에서 읽어 points 개 이하의 봉으로 줄인다.
+ * <p>
+ * 종목의 오늘 틱은 처음 조회할 때 DB 에서 한 번 읽는다. batch 커밋과 메모리 반영 사이에 읽으면 틱이 빠지거나
+ * 두 번 들어가므로, 커밋부터 반영까지와 DB 에서 읽는 동안은 같은 lock 을 잡는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockTickStore {
+	private final StockTickJdbcRepository stockTickJdbcRepository;
+	private final Map<Integer, DaySeries> todaySeries = new ConcurrentHashMap<>();
+	private final ReentrantLock lock = new ReentrantLock();
+
+	@Value("${stock.tick.max-points:500}")
+	private int maxPoints;
+
+	@Value("${stock.tick.max-range-days:7}")
+	private int maxRangeDays;
+
+	/**
+	 * 체결 시각, 체결가, 체결 수량
+	 *
+	 * @param time epoch ms
+	 */
+	record Tick(int stockId, long time, int price, int cnt) {
+	}
+
+	private record DaySeries(LocalDate day, StockTickSeries series) {
+	}
+
+	/**
+	 * batch 를 커밋하고 그 batch 의 틱을 메모리에 반영하는 메서드 (체결 저장 스레드 전용)
+	 *
+	 * @param commit batch 를 저장하고 커밋한 뒤 저장한 틱을 돌려주는 작업
+	 */
+	void commit(Supplier<List<Tick>> commit) {
+		lock.lock();
+		try {
+			List<Tick> ticks = commit.get();
+			if (ticks == null)
+				return;
+			for (Tick tick : ticks) {
+				DaySeries loaded = todaySeries.get(tick.stockId());
+				// 아직 읽지 않은 종목은 처음 조회할 때 DB 에서 읽으므로 건너뛴다
+				if (loaded == null)
+					continue;
+				LocalDate day = StockTickSeries.toLocalDateTime(tick.time()).toLocalDate();
+				if (day.isAfter(loaded.day())) {
+					loaded = new DaySeries(day, new StockTickSeries());
+					todaySeries.put(tick.stockId(), loaded);
+				}
+				loaded.series().append(tick.time(), tick.price(), tick.cnt());
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * [from, to) 구간의 틱을 최대 points 개의 봉으로 줄여서 조회하는 메서드
+	 */
+	public List<StockCandleBar> getBars(Stock stock, LocalDateTime from, LocalDateTime to, int points) {
+		if (!from.isBefore(to) || points <= 0 || points > maxPoints || Duration.between(from, to).toDays() >= maxRangeDays)
+			throw BusinessException.of(ErrorCode.API_ERROR_STOCK_TICK_RANGE_NOT_SUPPORTED);
+		long fromMilli = StockTickSeries.toEpochMilli(from);
+		long toMilli = StockTickSeries.toEpochMilli(to);
+
+		LocalDate today = LocalDate.now();
+		if (!from.isBefore(today.atStartOfDay()))
+			return today(stock.getId(), today).downsample(fromMilli, toMilli, points);
+
+		StockTickSeries series = new StockTickSeries();
+		stockTickJdbcRepository.findRange(stock.getId(), from, to, series);
+		return series.downsample(fromMilli, toMilli, points);
+	}
+
+	private StockTickSeries today(int stockId, LocalDate today) {
+		DaySeries loaded = todaySeries.get(stockId);
+		if (loaded != null && !loaded.day().isBefore(today))
+			return loaded.series();
+		lock.lock();
+		try {
+			loaded = todaySeries.get(stockId);
+			if (loaded != null && !loaded.day().isBefore(today))
+				return loaded.series();
+			StockTickSeries series = new StockTickSeries();
+			stockTickJdbcRepository.findRange(stockId, today.atStartOfDay(), today.plusDays(1).atStartOfDay(), series);
+			todaySeries.put(stockId, new DaySeries(today, series));
+			return series;
+		} finally {
+			lock.unlock();
+		}
+	}
+}
@@ -1,27 +1,43 @@
 package com.a502.backend.domain.stock;
 
 import com.a502.backend.application.entity.Stock;
+import com.a502.backend.global.common.NearCache;
 import com.a502.backend.global.error.BusinessException;
 import com.a502.backend.global.exception.ErrorCode;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.Optional;
-
+import java.time.Duration;
 import java.util.List;
 
+/**
+ * 종목 조회
+ * <p>
+ * 종목은 주문, 차트, 상세 조회마다 읽히지만 거의 바뀌지 않으므로 id/이름별 캐시에 들고 있는다.
+ * 캐시 크기와 유효 시간은 product-cache 설정을 따르고, 저장하면 해당 종목을 캐시에서 지운다.
+ */
 @Service
-@RequiredArgsConstructor
 public class StocksService {
     private final StocksRepository stocksRepository;
+    private final NearCache<Integer, Stock> byId;
+    private final NearCache<String, Stock> byName;
+
+    public StocksService(StocksRepository stocksRepository,
+                         @Value("${product-cache.max-size:1000}") int maxSize,
+                         @Value("${product-cache.ttl-ms:600000}") long ttlMs) {
+        this.stocksRepository = stocksRepository;
+        this.byId = new NearCache<>(maxSize, Duration.ofMillis(ttlMs));
+        this.byName = new NearCache<>(maxSize, Duration.ofMillis(ttlMs));
+    }
 
     public Stock findById(int id){
-        return stocksRepository.findById(id).orElseThrow(() -> BusinessException.of(ErrorCode.API_ERROR_STOCK_NOT_EXIST));
+        return byId.get(id, key -> cache(stocksRepository.findById(key)
+                .orElseThrow(() -> BusinessException.of(ErrorCode.API_ERROR_STOCK_NOT_EXIST))));
     }
 
     public Stock findByName(String name){
-        return stocksRepository.findByName(name).orElseThrow(() -> BusinessException.of(ErrorCode.API_ERROR_STOCK_NOT_EXIST));
+        return byName.get(name, key -> cache(stocksRepository.findByName(key)
+                .orElseThrow(() -> BusinessException.of(ErrorCode.API_ERROR_STOCK_NOT_EXIST))));
     }
 
     public Stock save(String name, String imageUrl){
@@ -30,14 +46,29 @@ public class StocksService {
 //            stock.updateImageUrl(imageUrl);
 //            return stock;
 //        }
-        return stocksRepository.save(Stock.builder()
+        Stock stock = stocksRepository.save(Stock.builder()
                 .name(name)
                 .imageUrl(imageUrl)
                 .build());
+        evict(stock);
+        return stock;
+    }
+
+    /**
+     * 종목을 바꾼 뒤 호출해서 캐시에서 지우는 메서드 (트랜잭션 안이면 커밋 후에도 한 번 더 지운다)
+     */
+    public void evict(Stock stock) {
+        byId.evictAfterCommit(stock.getId());
+        byName.evictAfterCommit(stock.getName());
     }
 
     public List<Stock> findAllList(){
         return stocksRepository.findAll();
     }
 
+    private Stock cache(Stock stock) {
+        byId.put(stock.getId(), stock);
+        byName.put(stock.getName(), stock);
+        return stock;
+    }
 }
@@ -0,0 +1,99 @@
+package com.a502.backend.domain.stock.journal;
+
+import com.a502.backend.domain.stock.orderbook.OrderFill;
+import com.a502.backend.domain.stock.orderbook.OrderSide;
+import com.a502.backend.domain.stock.orderbook.RestingOrder;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 주문 저널 레코드 (32 byte 고정 길이)
+ * <pre>
+ * type(1) side(1) pad(2) seq(8) id1(4) id2(4) price(4) cnt(4) checksum(4)
+ * </pre>
+ * ORDER  : id1 = 주문 id, id2 = 회원 id, cnt = 체결 전 수량
+ * FILL   : id1 = 매수 주문 id, id2 = 매도 주문 id
+ * CANCEL : id1 = 주문 id
+ * RESET  : 호가창을 DB 에서 다시 만들었음을 표시
+ */
+public record JournalRecord(Type type, long seq, OrderSide side, int id1, int id2, int price, int cnt) {
+	public static final int SIZE = 32;
+
+	public enum Type {
+		ORDER, FILL, CANCEL, RESET;
+
+		byte code() {
+			return (byte) (ordinal() + 1);
+		}
+
+		static Type of(byte code) {
+			return (code < 1 || code > values().length) ? null : values()[code - 1];
+		}
+	}
+
+	public static JournalRecord order(RestingOrder order) {
+		return new JournalRecord(Type.ORDER, 0, order.getSide(), order.getOrderId(), order.getUserId(), order.getPrice(), order.getRemaining());
+	}
+
+	public static JournalRecord fill(OrderFill fill) {
+		return new JournalRecord(Type.FILL, 0, OrderSide.BUY, fill.buyOrderId(), fill.sellOrderId(), fill.price(), fill.cnt());
+	}
+
+	public static JournalRecord cancel(OrderSide side, int orderId) {
+		return new JournalRecord(Type.CANCEL, 0, side, orderId, 0, 0, 0);
+	}
+
+	public static JournalRecord reset() {
+		return new JournalRecord(Type.RESET, 0, OrderSide.BUY, 0, 0, 0, 0);
+	}
+
+	public JournalRecord withSeq(long seq) {
+		return new JournalRecord(type, seq, side, id1, id2, price, cnt);
+	}
+
+	public RestingOrder toRestingOrder() {
+		return RestingOrder.builder().orderId(id1).userId(id2).side(side).price(price).remaining(cnt).build();
+	}
+
+	/**
+	 * type 바이트를 마지막에 써서, 쓰다 만 레코드는 읽을 때 빈 자리(0)로 보이게 한다.
+	 */
+	void writeTo(ByteBuffer buffer, int offset) {
+		buffer.put(offset + 1, (byte) side.ordinal());
+		buffer.putLong(offset + 4, seq);
+		buffer.putInt(offset + 12, id1);
+		buffer.putInt(offset + 16, id2);
+		buffer.putInt(offset + 20, price);
+		buffer.putInt(offset + 24, cnt);
+		buffer.putInt(offset + 28, checksum());
+		buffer.put(offset, type.code());
+	}
+
+	/**
+	 * @return 빈 자리이거나 checksum 이 맞지 않으면 null
+	 */
+	static JournalRecord readFrom(ByteBuffer buffer, int offset) {
+		Type type = Type.of(buffer.get(offset));
+		if (type == null)
+			return null;
+		JournalRecord record = new JournalRecord(type,
+				buffer.getLong(offset + 4),
+				OrderSide.values()[buffer.get(offset + 1) & 1],
+				buffer.getInt(offset + 12),
+				buffer.getInt(offset + 16),
+				buffer.getInt(offset + 20),
+				buffer.getInt(offset + 24));
+		return record.checksum() == buffer.getInt(offset + 28) ? record : null;
+	}
+
+	private int checksum() {
+		int hash = type.code();
+		hash = 31 * hash + side.ordinal();
+		hash = 31 * hash + Long.hashCode(seq);
+		hash = 31 * hash + id1;
+		hash = 31 * hash + id2;
+		hash = 31 * hash + price;
+		hash = 31 * hash + cnt;
+		return hash;
+	}
+}
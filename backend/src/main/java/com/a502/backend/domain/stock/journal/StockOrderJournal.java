@@ -0,0 +1,206 @@
+package com.a502.backend.domain.stock.journal;
+
+import com.a502.backend.domain.stock.orderbook.OrderBook;
+import com.a502.backend.domain.stock.orderbook.OrderSide;
+import com.a502.backend.domain.stock.orderbook.PriceLevel;
+import com.a502.backend.domain.stock.orderbook.RestingOrder;
+import lombok.Getter;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 종목 하나의 주문 저널과 호가창 스냅샷
+ * <p>
+ * 저널은 memory-mapped 세그먼트 파일에 고정 길이 레코드를 순서대로 덧붙이기만 하고,
+ * 스냅샷을 남기면 스냅샷 이전 세그먼트는 지운다.
+ * 재시작 시에는 스냅샷에서 호가창을 읽고 이후 주문 레코드를 다시 매칭해 호가창을 복원한다.
+ * <p>
+ * 종목 스레드 하나만 사용한다고 가정하므로 스레드 안전하지 않다.
+ */
+public class StockOrderJournal implements Closeable {
+	private static final String SEGMENT_SUFFIX = ".log";
+	private static final String SNAPSHOT_FILE = "snapshot.bin";
+	private static final int SNAPSHOT_MAGIC = 0x4d554649;
+
+	private final Path directory;
+	private final int segmentSize;
+	@Getter
+	private long lastSeq;
+	private FileChannel channel;
+	private MappedByteBuffer segment;
+	private int position;
+
+	public StockOrderJournal(Path directory, int segmentSize) throws IOException {
+		Files.createDirectories(directory);
+		this.directory = directory;
+		this.segmentSize = Math.max(JournalRecord.SIZE, segmentSize - segmentSize % JournalRecord.SIZE);
+		this.lastSeq = readSnapshotSeq();
+		replay(lastSeq, record -> lastSeq = record.seq());
+	}
+
+	/**
+	 * 레코드를 저널 끝에 덧붙이는 메서드
+	 *
+	 * @return 부여된 순번
+	 */
+	public long append(JournalRecord record) throws IOException {
+		if (segment == null || position + JournalRecord.SIZE > segmentSize)
+			openSegment(lastSeq + 1);
+		long seq = lastSeq + 1;
+		record.withSeq(seq).writeTo(segment, position);
+		position += JournalRecord.SIZE;
+		lastSeq = seq;
+		return seq;
+	}
+
+	public void force() {
+		if (segment != null)
+			segment.force();
+	}
+
+	/**
+	 * 순번이 afterSeq 보다 큰 레코드를 순서대로 읽는 메서드
+	 * 쓰다 만 레코드를 만나면 그 세그먼트는 거기까지만 읽는다.
+	 */
+	public void replay(long afterSeq, Consumer<JournalRecord> consumer) throws IOException {
+		for (Path path : segments()) {
+			try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+				MappedByteBuffer buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+				for (int offset = 0; offset + JournalRecord.SIZE <= buffer.capacity(); offset += JournalRecord.SIZE) {
+					JournalRecord record = JournalRecord.readFrom(buffer, offset);
+					if (record == null)
+						break;
+					if (record.seq() > afterSeq)
+						consumer.accept(record);
+				}
+			}
+		}
+	}
+
+	/**
+	 * 스냅샷과 이후 저널로 호가창을 복원하는 메서드
+	 *
+	 * @return 스냅샷이 없거나 스냅샷 이후 DB 에서 호가창을 다시 만든 기록(RESET)이 있으면 empty
+	 */
+	public Optional<OrderBook> recover(int stockId) throws IOException {
+		Path path = directory.resolve(SNAPSHOT_FILE);
+		if (!Files.exists(path))
+			return Optional.empty();
+
+		OrderBook orderBook = new OrderBook(stockId);
+		long snapshotSeq;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+			if (in.readInt() != SNAPSHOT_MAGIC)
+				return Optional.empty();
+			snapshotSeq = in.readLong();
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				orderBook.rest(RestingOrder.builder()
+						.orderId(in.readInt())
+						.userId(in.readInt())
+						.side(OrderSide.values()[in.readByte()])
+						.price(in.readInt())
+						.remaining(in.readInt())
+						.build());
+			}
+		}
+
+		boolean[] reset = {false};
+		replay(snapshotSeq, record -> {
+			switch (record.type()) {
+				case ORDER -> {
+					RestingOrder order = record.toRestingOrder();
+					orderBook.match(order);
+					orderBook.rest(order);
+				}
+				case CANCEL -> orderBook.cancel(record.side(), record.id1());
+				case RESET -> reset[0] = true;
+				default -> {
+				}
+			}
+		});
+		return reset[0] ? Optional.empty() : Optional.of(orderBook);
+	}
+
+	/**
+	 * 현재 호가창을 스냅샷으로 남기고, 스냅샷에 포함된 세그먼트를 지우는 메서드
+	 */
+	public void writeSnapshot(OrderBook orderBook) throws IOException {
+		Path tmp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+			out.writeInt(SNAPSHOT_MAGIC);
+			out.writeLong(lastSeq);
+			out.writeInt(orderBook.getOrderCount());
+			writeLevels(out, orderBook.getBids().values());
+			writeLevels(out, orderBook.getAsks().values());
+		}
+		Files.move(tmp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		if (position > 0)
+			openSegment(lastSeq + 1);
+		List<Path> segments = segments();
+		for (int i = 0; i < segments.size() - 1; i++) {
+			if (startSeq(segments.get(i + 1)) - 1 <= lastSeq)
+				Files.deleteIfExists(segments.get(i));
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		force();
+		if (channel != null)
+			channel.close();
+	}
+
+	private static void writeLevels(DataOutputStream out, Iterable<PriceLevel> levels) throws IOException {
+		for (PriceLevel level : levels) {
+			for (RestingOrder order : level.getOrders()) {
+				out.writeInt(order.getOrderId());
+				out.writeInt(order.getUserId());
+				out.writeByte(order.getSide().ordinal());
+				out.writeInt(order.getPrice());
+				out.writeInt(order.getRemaining());
+			}
+		}
+	}
+
+	private void openSegment(long startSeq) throws IOException {
+		close();
+		Path path = directory.resolve(String.format("%020d%s", startSeq, SEGMENT_SUFFIX));
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+		position = 0;
+	}
+
+	private long readSnapshotSeq() throws IOException {
+		Path path = directory.resolve(SNAPSHOT_FILE);
+		if (!Files.exists(path))
+			return 0;
+		try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+			return in.readInt() == SNAPSHOT_MAGIC ? in.readLong() : 0;
+		}
+	}
+
+	private List<Path> segments() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+					.sorted()
+					.toList();
+		}
+	}
+
+	private static long startSeq(Path segment) {
+		String name = segment.getFileName().toString();
+		return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+	}
+}
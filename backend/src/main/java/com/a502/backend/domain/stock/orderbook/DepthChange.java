@@ -0,0 +1,11 @@
+package com.a502.backend.domain.stock.orderbook;
+
+/**
+ * 호가 한 칸의 변경 결과
+ *
+ * @param side  매수/매도
+ * @param price 가격
+ * @param cnt   변경 후 잔량 (0 이면 호가가 사라짐)
+ */
+public record DepthChange(OrderSide side, int price, int cnt) {
+}
@@ -0,0 +1,168 @@
+package com.a502.backend.domain.stock.orderbook;
+
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * 주식 한 종목의 호가창
+ * <p>
+ * 매수 호가는 높은 가격 순, 매도 호가는 낮은 가격 순으로 정렬하고
+ * 같은 가격 안에서는 먼저 들어온 주문부터 체결한다. (가격-시간 우선순위)
+ * <p>
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 종목 단위로 직렬화해야 한다.
+ */
+public class OrderBook {
+	@Getter
+	private final int stockId;
+	private final NavigableMap<Integer, PriceLevel> bids = new TreeMap<>(Comparator.reverseOrder());
+	private final NavigableMap<Integer, PriceLevel> asks = new TreeMap<>();
+	private final Map<Integer, RestingOrder> buyOrders = new HashMap<>();
+	private final Map<Integer, RestingOrder> sellOrders = new HashMap<>();
+	private final Set<Integer> changedBids = new LinkedHashSet<>();
+	private final Set<Integer> changedAsks = new LinkedHashSet<>();
+
+	public OrderBook(int stockId) {
+		this.stockId = stockId;
+	}
+
+	/**
+	 * 들어온 주문을 반대편 호가와 체결하는 메서드
+	 * 지정가 안쪽의 모든 가격대를 차례로 돌며 체결하고, 체결가는 먼저 걸려있던 주문의 가격을 따른다.
+	 * 남은 수량은 incoming 에 그대로 남으며 호가창에 올리려면 rest() 를 호출해야 한다.
+	 *
+	 * @param incoming 새로 들어온 주문
+	 * @return 체결 목록
+	 */
+	public List<OrderFill> match(RestingOrder incoming) {
+		List<OrderFill> fills = new ArrayList<>();
+		OrderSide side = incoming.getSide();
+		NavigableMap<Integer, PriceLevel> opposite = levels(side.opposite());
+
+		while (incoming.getRemaining() > 0 && !opposite.isEmpty()) {
+			PriceLevel level = opposite.firstEntry().getValue();
+			if (!crosses(side, incoming.getPrice(), level.getPrice()))
+				break;
+
+			while (incoming.getRemaining() > 0 && !level.isEmpty()) {
+				RestingOrder resting = level.peek();
+				int cnt = Math.min(incoming.getRemaining(), resting.getRemaining());
+				incoming.fill(cnt);
+				level.fillHead(cnt);
+				changed(side.opposite()).add(level.getPrice());
+				if (resting.isFilled())
+					orders(resting.getSide()).remove(resting.getOrderId());
+
+				fills.add(side == OrderSide.BUY
+						? new OrderFill(incoming.getOrderId(), resting.getOrderId(), incoming.getUserId(), resting.getUserId(), level.getPrice(), cnt)
+						: new OrderFill(resting.getOrderId(), incoming.getOrderId(), resting.getUserId(), incoming.getUserId(), level.getPrice(), cnt));
+			}
+			if (level.isEmpty())
+				opposite.pollFirstEntry();
+		}
+		return fills;
+	}
+
+	/**
+	 * 지정가 안쪽 반대편 호가에서 바로 체결할 수 있는 수량을 세는 메서드 (최대 cnt 까지)
+	 */
+	public int fillableQuantity(OrderSide side, int limitPrice, int cnt) {
+		int fillable = 0;
+		for (PriceLevel level : levels(side.opposite()).values()) {
+			if (fillable >= cnt || !crosses(side, limitPrice, level.getPrice()))
+				break;
+			fillable += level.getTotalQuantity();
+		}
+		return Math.min(fillable, cnt);
+	}
+
+	/**
+	 * 미체결 수량이 남은 주문을 호가창에 올리는 메서드
+	 */
+	public void rest(RestingOrder order) {
+		if (order.isFilled())
+			return;
+		levels(order.getSide())
+				.computeIfAbsent(order.getPrice(), PriceLevel::new)
+				.add(order);
+		orders(order.getSide()).put(order.getOrderId(), order);
+		changed(order.getSide()).add(order.getPrice());
+	}
+
+	/**
+	 * 호가창에서 주문을 내리는 메서드
+	 *
+	 * @return 내려간 주문, 없으면 null
+	 */
+	public RestingOrder cancel(OrderSide side, int orderId) {
+		RestingOrder order = orders(side).remove(orderId);
+		if (order == null)
+			return null;
+		NavigableMap<Integer, PriceLevel> book = levels(side);
+		PriceLevel level = book.get(order.getPrice());
+		if (level != null && level.remove(order) && level.isEmpty())
+			book.remove(order.getPrice());
+		changed(side).add(order.getPrice());
+		return order;
+	}
+
+	public void clear() {
+		changedBids.addAll(bids.keySet());
+		changedAsks.addAll(asks.keySet());
+		bids.clear();
+		asks.clear();
+		buyOrders.clear();
+		sellOrders.clear();
+	}
+
+	/**
+	 * 마지막 호출 이후 잔량이 바뀐 호가를 돌려주고 변경 기록을 비우는 메서드
+	 */
+	public List<DepthChange> drainDepthChanges() {
+		List<DepthChange> changes = new ArrayList<>(changedBids.size() + changedAsks.size());
+		for (int price : changedBids)
+			changes.add(new DepthChange(OrderSide.BUY, price, quantity(bids, price)));
+		for (int price : changedAsks)
+			changes.add(new DepthChange(OrderSide.SELL, price, quantity(asks, price)));
+		changedBids.clear();
+		changedAsks.clear();
+		return changes;
+	}
+
+	public RestingOrder getOrder(OrderSide side, int orderId) {
+		return orders(side).get(orderId);
+	}
+
+	public NavigableMap<Integer, PriceLevel> getBids() {
+		return Collections.unmodifiableNavigableMap(bids);
+	}
+
+	public NavigableMap<Integer, PriceLevel> getAsks() {
+		return Collections.unmodifiableNavigableMap(asks);
+	}
+
+	public int getOrderCount() {
+		return buyOrders.size() + sellOrders.size();
+	}
+
+	private static boolean crosses(OrderSide side, int limitPrice, int levelPrice) {
+		return side == OrderSide.BUY ? levelPrice <= limitPrice : levelPrice >= limitPrice;
+	}
+
+	private static int quantity(NavigableMap<Integer, PriceLevel> levels, int price) {
+		PriceLevel level = levels.get(price);
+		return level == null ? 0 : level.getTotalQuantity();
+	}
+
+	private Set<Integer> changed(OrderSide side) {
+		return side == OrderSide.BUY ? changedBids : changedAsks;
+	}
+
+	private NavigableMap<Integer, PriceLevel> levels(OrderSide side) {
+		return side == OrderSide.BUY ? bids : asks;
+	}
+
+	private Map<Integer, RestingOrder> orders(OrderSide side) {
+		return side == OrderSide.BUY ? buyOrders : sellOrders;
+	}
+}
@@ -0,0 +1,14 @@
+package com.a502.backend.domain.stock.orderbook;
+
+/**
+ * 매수-매도 주문 간 체결 한 건
+ *
+ * @param buyOrderId  StockBuy id
+ * @param sellOrderId StockSell id
+ * @param buyUserId   매수 회원 id
+ * @param sellUserId  매도 회원 id
+ * @param price       체결가 (먼저 걸려있던 주문의 가격)
+ * @param cnt         체결 수량
+ */
+public record OrderFill(int buyOrderId, int sellOrderId, int buyUserId, int sellUserId, int price, int cnt) {
+}
@@ -0,0 +1,9 @@
+package com.a502.backend.domain.stock.orderbook;
+
+public enum OrderSide {
+	BUY, SELL;
+
+	public OrderSide opposite() {
+		return this == BUY ? SELL : BUY;
+	}
+}
@@ -0,0 +1,59 @@
+package com.a502.backend.domain.stock.orderbook;
+
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+
+/**
+ * 가격 하나에 대한 주문 대기열 (FIFO)
+ */
+public class PriceLevel {
+	@Getter
+	private final int price;
+	@Getter
+	private int totalQuantity;
+	private final Deque<RestingOrder> orders = new ArrayDeque<>();
+
+	PriceLevel(int price) {
+		this.price = price;
+	}
+
+	void add(RestingOrder order) {
+		orders.addLast(order);
+		totalQuantity += order.getRemaining();
+	}
+
+	RestingOrder peek() {
+		return orders.peekFirst();
+	}
+
+	void fillHead(int cnt) {
+		RestingOrder head = orders.peekFirst();
+		head.fill(cnt);
+		totalQuantity -= cnt;
+		if (head.isFilled())
+			orders.pollFirst();
+	}
+
+	boolean remove(RestingOrder order) {
+		if (!orders.remove(order))
+			return false;
+		totalQuantity -= order.getRemaining();
+		return true;
+	}
+
+	boolean isEmpty() {
+		return orders.isEmpty();
+	}
+
+	public int getOrderCount() {
+		return orders.size();
+	}
+
+	public Collection<RestingOrder> getOrders() {
+		return Collections.unmodifiableCollection(orders);
+	}
+}
@@ -0,0 +1,36 @@
+package com.a502.backend.domain.stock.orderbook;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 호가창에 걸려있는 미체결 주문
+ * orderId 는 StockBuy / StockSell 의 id 값
+ */
+@Getter
+public class RestingOrder {
+	private final int orderId;
+	private final int userId;
+	private final OrderSide side;
+	private final int price;
+	private int remaining;
+
+	@Builder
+	public RestingOrder(int orderId, int userId, OrderSide side, int price, int remaining) {
+		this.orderId = orderId;
+		this.userId = userId;
+		this.side = side;
+		this.price = price;
+		this.remaining = remaining;
+	}
+
+	void fill(int cnt) {
+		if (cnt > remaining)
+			throw new IllegalStateException("fill exceeds remaining quantity of order " + orderId);
+		remaining -= cnt;
+	}
+
+	public boolean isFilled() {
+		return remaining == 0;
+	}
+}
@@ -0,0 +1,20 @@
+package com.a502.backend.domain.stock.request;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class RankingPageRequest {
+	// 0 부터 시작하는 위치, 내 주변 조회에서는 쓰지 않는다
+	private int offset;
+	private int limit;
+
+	@Builder
+	public RankingPageRequest(int offset, int limit) {
+		this.offset = offset;
+		this.limit = limit;
+	}
+}
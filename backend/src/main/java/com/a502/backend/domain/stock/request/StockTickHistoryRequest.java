@@ -0,0 +1,25 @@
+package com.a502.backend.domain.stock.request;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StockTickHistoryRequest {
+	private String name;
+	private LocalDateTime from;
+	private LocalDateTime to;
+	private int points;
+
+	@Builder
+	public StockTickHistoryRequest(String name, LocalDateTime from, LocalDateTime to, int points) {
+		this.name = name;
+		this.from = from;
+		this.to = to;
+		this.points = points;
+	}
+}
@@ -1,5 +1,6 @@
 package com.a502.backend.domain.stock.request;
 
+import com.a502.backend.domain.stock.StockOrderType;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -9,4 +10,6 @@ public class StockTransactionRequest {
     String name;
     int price;
     int cnt_total;
+    // 주문 유형 (없으면 지정가)
+    StockOrderType type;
 }
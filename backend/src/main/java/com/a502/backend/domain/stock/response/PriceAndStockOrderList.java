@@ -10,11 +10,14 @@ import java.util.List;
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class PriceAndStockOrderList {
+	// 이 호가를 만든 마지막 변경분의 seq
+	private long seq;
 	private int price;
 	private List<StockOrderList> stockOrderList;
 
 	@Builder
-	public PriceAndStockOrderList(int price, List<StockOrderList> stockOrderList) {
+	public PriceAndStockOrderList(long seq, int price, List<StockOrderList> stockOrderList) {
+		this.seq = seq;
 		this.price = price;
 		this.stockOrderList = stockOrderList;
 	}
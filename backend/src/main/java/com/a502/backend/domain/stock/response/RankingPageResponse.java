@@ -0,0 +1,15 @@
+package com.a502.backend.domain.stock.response;
+
+import com.a502.backend.application.entity.RankingDetail;
+
+import java.util.List;
+
+/**
+ * @param offset 첫 줄의 위치 (0 부터)
+ * @param total  랭킹 전체 회원 수
+ */
+public record RankingPageResponse(int offset, long total, List<RankingDetail> ranks) {
+    public static RankingPageResponse of(int offset, long total, List<RankingDetail> ranks) {
+        return new RankingPageResponse(offset, total, ranks);
+    }
+}
@@ -10,15 +10,19 @@ public class StockInfoResponse {
 	private int price;
 	private double incomeRatio;
 	private int transCnt;
+	private long turnover;
+	private long tradeCnt;
 	private String imageUrl;
 	private int upperLimitPrice;
 	private int lowerLimitPrice;
 
 	@Builder
-	public StockInfoResponse(int price, double incomeRatio, int transCnt, String imageUrl, int upperLimitPrice, int lowerLimitPrice) {
+	public StockInfoResponse(int price, double incomeRatio, int transCnt, long turnover, long tradeCnt, String imageUrl, int upperLimitPrice, int lowerLimitPrice) {
 		this.price = price;
 		this.incomeRatio = incomeRatio;
 		this.transCnt = transCnt;
+		this.turnover = turnover;
+		this.tradeCnt = tradeCnt;
 		this.imageUrl = imageUrl;
 		this.upperLimitPrice = upperLimitPrice;
 		this.lowerLimitPrice = lowerLimitPrice;
@@ -0,0 +1,33 @@
+package com.a502.backend.domain.stock.response;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 호가 변경분
+ * seq 는 종목별로 1씩 증가한다. 여러 변경분을 합쳐 보내면 firstSeq ~ seq 구간을 담으며,
+ * firstSeq 가 마지막으로 받은 seq + 1 이 아니면 스냅샷을 다시 받아야 한다.
+ * reset 이면 기존 호가를 모두 지우고 changes 로 새로 그린다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StockOrderDelta {
+	private long firstSeq;
+	private long seq;
+	private boolean reset;
+	private int price;
+	private List<StockOrderLevelChange> changes;
+
+	@Builder
+	public StockOrderDelta(long firstSeq, long seq, boolean reset, int price, List<StockOrderLevelChange> changes) {
+		this.firstSeq = firstSeq;
+		this.seq = seq;
+		this.reset = reset;
+		this.price = price;
+		this.changes = changes;
+	}
+}
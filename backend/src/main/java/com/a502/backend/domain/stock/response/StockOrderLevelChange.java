@@ -0,0 +1,25 @@
+package com.a502.backend.domain.stock.response;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 호가 한 칸의 변경 후 잔량 (cnt 가 0 이면 삭제)
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StockOrderLevelChange {
+	// 매수/매도
+	private String type;
+	private int price;
+	private int cnt;
+
+	@Builder
+	public StockOrderLevelChange(String type, int price, int cnt) {
+		this.type = type;
+		this.price = price;
+		this.cnt = cnt;
+	}
+}
@@ -0,0 +1,23 @@
+package com.a502.backend.domain.stock.response;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StockPriceHistoryByTick {
+	private long x;
+	private List<Integer> y;
+	private int cnt;
+
+	@Builder
+	public StockPriceHistoryByTick(long x, List<Integer> y, int cnt) {
+		this.x = x;
+		this.y = y;
+		this.cnt = cnt;
+	}
+}
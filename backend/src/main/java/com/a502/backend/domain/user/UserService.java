@@ -15,6 +15,7 @@ import com.a502.backend.global.error.BusinessException;
 import com.a502.backend.global.exception.ErrorCode;
 import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
@@ -43,6 +44,10 @@ public class UserService implements UserDetailsService{
 	private final AuthenticationManagerBuilder authenticationManagerBuilder;
 	private final JwtUtil jwtUtil;
 
+	// 운영자 이메일 (쉼표로 구분), 이 회원은 로그인하면 ROLE_ADMIN 을 받아 actuator 를 쓸 수 있다
+	@Value("${security.admin-emails:}")
+	private List<String> adminEmails = List.of();
+
 	public JWTokenDto login(LoginDto loginDto) {
 
 		UsernamePasswordAuthenticationToken authenticationToken =
@@ -68,7 +73,7 @@ public class UserService implements UserDetailsService{
 		User findMember = userRepository.findByEmail(username)
 				.orElseThrow(() -> BusinessException.of(ErrorCode.API_ERROR_USER_NOT_EXIST));
 
-		CustomUserDetails cU = new CustomUserDetails(findMember);
+		CustomUserDetails cU = new CustomUserDetails(findMember, adminEmails.contains(findMember.getEmail()));
 		return cU;
 	}
 
@@ -114,6 +119,7 @@ public class UserService implements UserDetailsService{
 		return userRepository.findById(id).orElseThrow(() -> BusinessException.of(ErrorCode.API_ERROR_USER_NOT_EXIST));
 	}
 
+	@Transactional(readOnly = true)
 	public User userFindByEmail() {
 		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 		String email = authentication.getName(); // Username 추출
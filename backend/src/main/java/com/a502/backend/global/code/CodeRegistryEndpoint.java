@@ -0,0 +1,34 @@
+package com.a502.backend.global.code;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 코드 목록 조회 / 다시 읽기 (GET, POST /actuator/codes)
+ * DB 에서 코드를 직접 바꿨을 때 서버를 다시 띄우지 않고 반영한다.
+ * 다시 읽기(POST)는 SecurityConfig 에서 ADMIN 권한만 허가한다.
+ */
+@Component
+@Endpoint(id = "codes")
+@RequiredArgsConstructor
+public class CodeRegistryEndpoint {
+	private final CodeService codeService;
+
+	@ReadOperation
+	public Map<String, String> codes() {
+		Map<String, String> codes = new LinkedHashMap<>();
+		codeService.findAll().forEach(code -> codes.put(code.getId(), code.getName()));
+		return codes;
+	}
+
+	@WriteOperation
+	public Map<String, Integer> refresh() {
+		return Map.of("codes", codeService.refresh());
+	}
+}
@@ -4,31 +4,95 @@ import com.a502.backend.application.entity.Code;
 import com.a502.backend.global.error.BusinessException;
 import com.a502.backend.global.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * 상태/유형 코드 조회
+ * <p>
+ * 코드는 거의 바뀌지 않는 기준 데이터이므로 서버가 뜰 때 전체를 읽어 id/이름별 불변 Map 으로 들고 있고,
+ * 조회는 DB 를 거치지 않는다. 저장하거나 refresh 를 호출하면 전체를 다시 읽는다.
+ * Map 에 없는 코드는 DB 에서 한 번 더 찾아보고, 있으면 전체를 다시 읽는다.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CodeService {
 	private final CodeRepository codeRepository;
+	private volatile Registry registry;
+
+	private record Registry(Map<String, Code> byId, Map<String, Code> byName) {
+	}
 
 	public Code findById(String id) {
-		return codeRepository.findById(id).orElseThrow(() -> BusinessException.of(ErrorCode.API_ERROR_NO_AUTHORIZATION));
+		return find(registry().byId(), id, () -> codeRepository.findById(id), ErrorCode.API_ERROR_NO_AUTHORIZATION);
 	}
 
 	public Code findByName(String name){
-		return codeRepository.findByName(name).orElseThrow(() -> BusinessException.of(ErrorCode.API_ERROR_NO_AUTHORIZATION));
+		return find(registry().byName(), name, () -> codeRepository.findByName(name), ErrorCode.API_ERROR_NO_AUTHORIZATION);
 	}
 
 	public void save(String id, String name) {
 			codeRepository.save(Code.builder().id(id).name(name).build());
+			refresh();
 	}
 
 	public Code findStatusCode(String codeName) {
-		return codeRepository.findByName(codeName)
-				.orElseThrow(() -> BusinessException.of(ErrorCode.API_ERROR_CODE_NOT_EXIST));
+		return find(registry().byName(), codeName, () -> codeRepository.findByName(codeName), ErrorCode.API_ERROR_CODE_NOT_EXIST);
 	}
 	public Code findTypeCode(String codeName) {
-		return codeRepository.findByName(codeName)
-				.orElseThrow(() -> BusinessException.of(ErrorCode.API_ERROR_CODE_NOT_EXIST));
+		return find(registry().byName(), codeName, () -> codeRepository.findByName(codeName), ErrorCode.API_ERROR_CODE_NOT_EXIST);
+	}
+
+	/**
+	 * 전체 코드 (id 순)
+	 */
+	public Collection<Code> findAll() {
+		return registry().byId().values();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void preload() {
+		refresh();
+	}
+
+	/**
+	 * 코드 테이블을 다시 읽는 메서드
+	 *
+	 * @return 읽은 코드 수
+	 */
+	public synchronized int refresh() {
+		Map<String, Code> byId = new TreeMap<>();
+		Map<String, Code> byName = new HashMap<>();
+		for (Code code : codeRepository.findAll()) {
+			byId.put(code.getId(), code);
+			byName.put(code.getName(), code);
+		}
+		registry = new Registry(Collections.unmodifiableMap(byId), Collections.unmodifiableMap(byName));
+		log.info("code registry loaded. codes : {}", byId.size());
+		return byId.size();
+	}
+
+	private Registry registry() {
+		Registry current = registry;
+		if (current == null) {
+			refresh();
+			current = registry;
+		}
+		return current;
+	}
+
+	private Code find(Map<String, Code> codes, String key, Supplier<Optional<Code>> fallback, ErrorCode errorCode) {
+		Code code = codes.get(key);
+		if (code != null)
+			return code;
+		Code stored = fallback.get().orElseThrow(() -> BusinessException.of(errorCode));
+		refresh();
+		return stored;
 	}
 }
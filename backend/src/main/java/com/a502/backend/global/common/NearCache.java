@@ -0,0 +1,100 @@
+package com.a502.backend.global.common;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 크기와 유효 시간이 정해진 서버 내 캐시
+ * <p>
+ * 오래 안 쓴 항목부터 밀어내고 (LRU), 넣은 지 ttl 이 지난 항목은 없는 것으로 본다.
+ * 값을 읽어오는 loader 는 lock 밖에서 돌기 때문에 같은 key 를 동시에 두 번 읽어올 수 있지만 결과는 같다.
+ */
+public class NearCache<K, V> {
+	private final int maxSize;
+	private final long ttlNanos;
+	private final LongSupplier clock;
+	private final LinkedHashMap<K, Entry<V>> entries;
+
+	private record Entry<V>(V value, long expiresAt) {
+	}
+
+	public NearCache(int maxSize, Duration ttl) {
+		this(maxSize, ttl, System::nanoTime);
+	}
+
+	NearCache(int maxSize, Duration ttl, LongSupplier clock) {
+		if (maxSize <= 0)
+			throw new IllegalArgumentException("maxSize must be positive");
+		this.maxSize = maxSize;
+		this.ttlNanos = ttl.toNanos();
+		this.clock = clock;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				return size() > NearCache.this.maxSize;
+			}
+		};
+	}
+
+	/**
+	 * 캐시에 없거나 만료됐으면 loader 로 읽어서 넣는다. loader 가 던진 예외는 그대로 나가고 캐시에는 남지 않는다.
+	 */
+	public V get(K key, Function<? super K, ? extends V> loader) {
+		V value = getIfPresent(key);
+		if (value != null)
+			return value;
+		value = loader.apply(key);
+		if (value != null)
+			put(key, value);
+		return value;
+	}
+
+	public synchronized V getIfPresent(K key) {
+		Entry<V> entry = entries.get(key);
+		if (entry == null)
+			return null;
+		if (clock.getAsLong() - entry.expiresAt() >= 0) {
+			entries.remove(key);
+			return null;
+		}
+		return entry.value();
+	}
+
+	public synchronized void put(K key, V value) {
+		entries.put(key, new Entry<>(value, clock.getAsLong() + ttlNanos));
+	}
+
+	public synchronized void evict(K key) {
+		entries.remove(key);
+	}
+
+	/**
+	 * 지금 지우고, 트랜잭션 안이면 커밋 후에 한 번 더 지운다.
+	 * 커밋 전에 다른 스레드가 옛 값을 다시 읽어 넣어도 커밋 후에는 새 값을 읽게 된다.
+	 */
+	public void evictAfterCommit(K key) {
+		evict(key);
+		if (!TransactionSynchronizationManager.isSynchronizationActive())
+			return;
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				evict(key);
+			}
+		});
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+}
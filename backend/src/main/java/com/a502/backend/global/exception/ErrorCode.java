@@ -71,6 +71,11 @@ public enum ErrorCode {
 
     // Stock
     API_ERROR_STOCK_NOT_EXIST(400, "S001", "존재하지 않는 주식입니다."),
+    API_ERROR_STOCK_ORDER_QUEUE_FULL(503, "S002", "주문이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요."),
+    API_ERROR_STOCK_FILL_NOT_SAVED(500, "S003", "체결 내역을 저장하지 못했습니다."),
+    API_ERROR_STOCK_ORDER_NOT_FILLABLE(400, "S004", "지금 전량 체결할 수 없는 주문입니다."),
+    API_ERROR_STOCK_CANDLE_PERIOD_NOT_SUPPORTED(400, "S005", "지원하지 않는 봉 단위입니다."),
+    API_ERROR_STOCK_TICK_RANGE_NOT_SUPPORTED(400, "S006", "조회할 수 없는 틱 구간입니다."),
 
     // StockDetail
     API_ERROR_STOCK_DETAIL_NOT_EXIST(400, "SD01", "존재하지 않는 주식정보입니다."),
@@ -116,7 +121,8 @@ public enum ErrorCode {
 
     // Ranking
     API_ERROR_RANKING_LIST_FAIL(400, "R001", "랭킹 정보를 불러오는데 실패했습니다."),
-    API_ERROR_RANKING_CHILD_NOT_EXIST(400, "R002", "랭킹 정보에 회원 정보와 일치하는 사람이 없습니다.")
+    API_ERROR_RANKING_CHILD_NOT_EXIST(400, "R002", "랭킹 정보에 회원 정보와 일치하는 사람이 없습니다."),
+    API_ERROR_RANKING_PAGE_OUT_OF_RANGE(400, "R003", "조회할 수 없는 랭킹 범위입니다.")
     ;
     private final int status;
     private final String code;
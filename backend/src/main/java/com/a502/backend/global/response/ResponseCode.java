@@ -53,6 +53,9 @@ public enum ResponseCode {
 	API_SUCCESS_RANKING_USER("S008", "회원 랭킹조회에 성공했습니다."),
 	API_SUCCESS_RANKING_LIST("S009", "1 ~ 10위 랭킹 조회에 성공했습니다."),
 	API_SUCCESS_STOCK_GET_ONE_INFO("S010", "주식 정보 조회에 성공했습니다."),
+	API_SUCCESS_STOCK_PRICE_HISTORY_MINUTE("S011", "분봉 주가 조회에 성공하였습니다."),
+	API_SUCCESS_STOCK_PRICE_HISTORY_TICK("S012", "장중 틱 주가 조회에 성공하였습니다."),
+	API_SUCCESS_RANKING_PAGE("S013", "랭킹 페이지 조회에 성공했습니다."),
 
 	//Pay
 	API_SUCCESS_PAY_TRANSFER("P001", "송금에 성공하였습니다."),
@@ -0,0 +1,50 @@
+package com.a502.backend.global.scheduler;
+
+/**
+ * 잡은 작업 lease
+ * token 은 작업마다 lease 를 잡을 때마다 1 씩 커지는 번호이고, Redis 에는 "owner:token" 으로 저장된다.
+ * 작업의 쓰기는 scheduled_job_fences 에서 이 token 으로 검사한다 (ScheduledJobRunner.runOnce, fenceCheck).
+ * 갱신에 실패하면 lost 가 되고, 이후로는 다른 서버가 같은 작업을 잡았을 수 있다.
+ */
+public final class JobLease {
+	private final String job;
+	private final String owner;
+	private final long token;
+	private final long acquiredAt;
+	private volatile boolean lost;
+
+	JobLease(String job, String owner, long token, long acquiredAt) {
+		this.job = job;
+		this.owner = owner;
+		this.token = token;
+		this.acquiredAt = acquiredAt;
+	}
+
+	public String job() {
+		return job;
+	}
+
+	public String owner() {
+		return owner;
+	}
+
+	public long token() {
+		return token;
+	}
+
+	long acquiredAt() {
+		return acquiredAt;
+	}
+
+	String value() {
+		return owner + ":" + token;
+	}
+
+	public boolean isLost() {
+		return lost;
+	}
+
+	void markLost() {
+		lost = true;
+	}
+}
@@ -0,0 +1,116 @@
+package com.a502.backend.global.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Redis 작업 lease 저장소
+ * <p>
+ * job:{작업}:lease : lease 를 잡은 서버와 token ("owner:token"), 만료 시간이 지나면 다른 서버가 잡을 수 있다
+ * job:{작업}:token : 마지막으로 준 lease token
+ * 잡기/갱신/놓기는 모두 Lua 스크립트라서 값 비교와 변경 사이에 다른 서버가 끼어들지 않는다.
+ */
+@RequiredArgsConstructor
+@Service
+public class JobLeaseService {
+	private static final String OWNER = owner();
+
+	private final RedisTemplate<String, String> redisTemplate;
+
+	/**
+	 * KEYS : lease, token
+	 * ARGV : owner, 만료(ms)
+	 * 결과 : 새 lease token, 다른 서버가 잡고 있으면 nil
+	 */
+	private static final RedisScript<Long> ACQUIRE_SCRIPT = RedisScript.of("""
+			if redis.call('EXISTS', KEYS[1]) == 1 then
+			    return nil
+			end
+			local token = redis.call('INCR', KEYS[2])
+			redis.call('SET', KEYS[1], ARGV[1] .. ':' .. token, 'PX', ARGV[2])
+			return token
+			""", Long.class);
+
+	/**
+	 * KEYS : lease
+	 * ARGV : "owner:token", 만료(ms)
+	 */
+	private static final RedisScript<Long> RENEW_SCRIPT = RedisScript.of("""
+			if redis.call('GET', KEYS[1]) == ARGV[1] then
+			    return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+			end
+			return 0
+			""", Long.class);
+
+	/**
+	 * KEYS : lease
+	 * ARGV : "owner:token", 더 들고 있을 시간(ms)
+	 * 더 들고 있을 시간이 남았으면 그만큼만 남기고, 아니면 바로 지운다.
+	 */
+	private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of("""
+			if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+			    return 0
+			end
+			if tonumber(ARGV[2]) > 0 then
+			    return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+			end
+			return redis.call('DEL', KEYS[1])
+			""", Long.class);
+
+	private static String owner() {
+		String host;
+		try {
+			host = InetAddress.getLocalHost().getHostName();
+		} catch (UnknownHostException e) {
+			host = "unknown";
+		}
+		return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+	}
+
+	public Optional<JobLease> acquire(String job, Duration ttl) {
+		Long token = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(leaseKey(job), tokenKey(job)), OWNER, Long.toString(ttl.toMillis()));
+		if (token == null)
+			return Optional.empty();
+		return Optional.of(new JobLease(job, OWNER, token, System.currentTimeMillis()));
+	}
+
+	/**
+	 * @return 아직 이 서버의 lease 여서 만료 시간을 늘렸으면 true
+	 */
+	public boolean renew(JobLease lease, Duration ttl) {
+		Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(leaseKey(lease.job())), lease.value(), Long.toString(ttl.toMillis()));
+		return renewed != null && renewed == 1;
+	}
+
+	/**
+	 * @param hold 지금부터 더 들고 있을 시간, 서버마다 시각이 조금 달라서 늦게 깨어난 서버가 같은 작업을 다시 잡지 않도록 남긴다
+	 */
+	public void release(JobLease lease, Duration hold) {
+		redisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey(lease.job())), lease.value(), Long.toString(Math.max(0, hold.toMillis())));
+	}
+
+	/**
+	 * Redis 의 lease 가 아직 이 token 인지 확인한다.
+	 * 확인한 뒤 쓰기 전에 lease 가 넘어갈 수 있으므로, 쓰기는 scheduled_job_fences 의 token 검사로 한 번 더 막는다.
+	 */
+	public boolean isHeld(JobLease lease) {
+		return !lease.isLost() && lease.value().equals(redisTemplate.opsForValue().get(leaseKey(lease.job())));
+	}
+
+	private static String leaseKey(String job) {
+		return "job:" + job + ":lease";
+	}
+
+	private static String tokenKey(String job) {
+		return "job:" + job + ":token";
+	}
+}
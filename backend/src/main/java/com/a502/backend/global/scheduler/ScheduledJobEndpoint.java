@@ -0,0 +1,25 @@
+package com.a502.backend.global.scheduler;
+
+import com.a502.backend.application.entity.ScheduledJobRun;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 스케줄 작업 최근 실행 기록 조회 (GET /actuator/jobs/{작업})
+ */
+@Component
+@Endpoint(id = "jobs")
+@RequiredArgsConstructor
+public class ScheduledJobEndpoint {
+	private final ScheduledJobRunRepository scheduledJobRunRepository;
+
+	@ReadOperation
+	public List<ScheduledJobRun> runs(@Selector String job) {
+		return scheduledJobRunRepository.findTop20ByJobNameOrderByStartedAtDesc(job);
+	}
+}
@@ -0,0 +1,43 @@
+package com.a502.backend.global.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * scheduled_job_fences 쿼리
+ * 둘 다 회차 행을 잠그므로, 같은 회차를 쓰는 다른 서버는 이 트랜잭션이 끝날 때까지 기다린 뒤 결과를 본다.
+ */
+@Repository
+@RequiredArgsConstructor
+class ScheduledJobFenceJdbcRepository {
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * 회차를 처음 쓰거나, 마지막으로 쓴 token 이 이 token 보다 크지 않을 때만 이 token 으로 옮긴다.
+	 *
+	 * @return 더 큰 token 이 이미 썼으면 false
+	 */
+	boolean fence(String job, String runKey, long token, LocalDateTime now) {
+		return jdbcTemplate.update("""
+				insert into scheduled_job_fences (job_name, run_key, lease_token, updated_at) values (?, ?, ?, ?)
+				on conflict (job_name, run_key) do update set lease_token = excluded.lease_token, updated_at = excluded.updated_at
+				where scheduled_job_fences.lease_token <= excluded.lease_token
+				""", job, runKey, token, now) == 1;
+	}
+
+	/**
+	 * 회차를 처음 쓰거나, 이 token 이 이미 잡은 회차일 때만 성공한다.
+	 *
+	 * @return 다른 token 이 이미 이 회차를 썼으면 false
+	 */
+	boolean claim(String job, String runKey, long token, LocalDateTime now) {
+		return jdbcTemplate.update("""
+				insert into scheduled_job_fences (job_name, run_key, lease_token, updated_at) values (?, ?, ?, ?)
+				on conflict (job_name, run_key) do update set updated_at = excluded.updated_at
+				where scheduled_job_fences.lease_token = excluded.lease_token
+				""", job, runKey, token, now) == 1;
+	}
+}
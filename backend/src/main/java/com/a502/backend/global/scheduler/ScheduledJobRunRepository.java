@@ -0,0 +1,12 @@
+package com.a502.backend.global.scheduler;
+
+import com.a502.backend.application.entity.ScheduledJobRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ScheduledJobRunRepository extends JpaRepository<ScheduledJobRun, Long> {
+	List<ScheduledJobRun> findTop20ByJobNameOrderByStartedAtDesc(String jobName);
+}
@@ -0,0 +1,226 @@
+package com.a502.backend.global.scheduler;
+
+import com.a502.backend.application.entity.ScheduledJobRun;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 여러 서버 중 한 곳에서만 스케줄 작업을 돌리는 실행기
+ * <p>
+ * 1. Redis lease 를 잡은 서버만 작업을 돌리고, 못 잡은 서버는 건너뛴다
+ * 2. 도는 동안 ttl 의 1/3 마다 lease 를 갱신하고, 갱신에 실패하면 lease 를 잃은 것으로 표시한다
+ * 3. 작업은 긴 쓰기 사이마다 checkLease() 로 아직 자기 token 인지 확인한다
+ * 4. 끝나면 잡은 시점부터 min-hold 가 지날 때까지 lease 를 남겨서, 시각이 늦은 서버가 같은 cron 을 다시 돌리지 않는다
+ * 실행 기록은 scheduled_job_runs 에 남고, 같은 token 으로는 두 번 기록되지 않는다.
+ * <p>
+ * lease 확인과 쓰기 사이에 lease 가 넘어가거나, min-hold 가 지난 뒤 늦은 서버가 cron 을 돌릴 수 있으므로
+ * 쓰기는 DB 의 scheduled_job_fences 로 한 번 더 막는다. 회차(run key)는 보통 실행 날짜다.
+ * - runOnce : 회차 행을 작업과 같은 트랜잭션에서 잡는다. 다른 token 이 이미 잡은 회차면 돌리지 않는다 (하루 한 번 도는 작업)
+ * - fenceCheck : 나눠 쓰는 작업이 트랜잭션마다 부른다. 더 큰 token 이 이미 쓴 회차면 그 트랜잭션을 롤백한다 (이어서 도는 작업)
+ * 주문 체결(호가창, sequencer, journal)과 MarketSnapshot, RankingBoard 는 서버 메모리에 있으므로
+ * 이 실행기와 상관없이 서버는 한 대만 띄운다.
+ */
+@Slf4j
+@Component
+public class ScheduledJobRunner {
+	private final JobLeaseService jobLeaseService;
+	private final ScheduledJobRunRepository scheduledJobRunRepository;
+	private final ScheduledJobFenceJdbcRepository scheduledJobFenceJdbcRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final Duration ttl;
+	private final Duration minHold;
+	private final ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "job-lease-renewer");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final ThreadLocal<JobLease> current = new ThreadLocal<>();
+
+	public ScheduledJobRunner(JobLeaseService jobLeaseService,
+							  ScheduledJobRunRepository scheduledJobRunRepository,
+							  ScheduledJobFenceJdbcRepository scheduledJobFenceJdbcRepository,
+							  TransactionTemplate transactionTemplate,
+							  @Value("${schedule.lease.ttl-ms:60000}") long ttlMs,
+							  @Value("${schedule.lease.min-hold-ms:300000}") long minHoldMs) {
+		this.jobLeaseService = jobLeaseService;
+		this.scheduledJobRunRepository = scheduledJobRunRepository;
+		this.scheduledJobFenceJdbcRepository = scheduledJobFenceJdbcRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.ttl = Duration.ofMillis(ttlMs);
+		this.minHold = Duration.ofMillis(minHoldMs);
+	}
+
+	/**
+	 * lease 를 잡았으면 task 를 돌린다. task 의 예외는 기록만 하고 밖으로 던지지 않는다.
+	 *
+	 * @return 이 서버에서 돌려서 성공했으면 true
+	 */
+	public boolean run(String job, Runnable task) {
+		return execute(job, () -> {
+			task.run();
+			return null;
+		});
+	}
+
+	/**
+	 * run 과 같고, task 가 돌려준 바꾼 행 수를 실행 기록과 로그에 남긴다.
+	 */
+	public boolean runAndCount(String job, IntSupplier task) {
+		return execute(job, task::getAsInt);
+	}
+
+	/**
+	 * runAndCount 와 같고, task 를 한 트랜잭션에서 돌리며 그 트랜잭션에서 먼저 회차를 잡는다.
+	 * 다른 token 이 이미 이 회차를 잡아 커밋했으면 task 를 돌리지 않고 0 을 기록한다.
+	 * task 가 실패해서 롤백되면 회차도 잡지 않은 것이 되어 다음 실행이 다시 돌린다.
+	 */
+	public boolean runOnce(String job, String runKey, IntSupplier task) {
+		return execute(job, () -> transactionTemplate.execute(status -> {
+			checkLease();
+			JobLease lease = current.get();
+			if (!scheduledJobFenceJdbcRepository.claim(job, runKey, lease.token(), LocalDateTime.now())) {
+				log.info("job skipped, run already done. job : {}, run : {}, token : {}", job, runKey, lease.token());
+				return 0;
+			}
+			return task.getAsInt();
+		}));
+	}
+
+	private boolean execute(String job, Supplier<Integer> task) {
+		JobLease lease;
+		try {
+			Optional<JobLease> acquired = jobLeaseService.acquire(job, ttl);
+			if (acquired.isEmpty()) {
+				log.info("job skipped, lease held by another server. job : {}", job);
+				return false;
+			}
+			lease = acquired.get();
+		} catch (RuntimeException e) {
+			log.warn("job skipped, lease not acquired. job : {}, message : {}", job, e.getMessage());
+			return false;
+		}
+
+		ScheduledJobRun run;
+		try {
+			run = scheduledJobRunRepository.save(ScheduledJobRun.builder()
+					.jobName(job)
+					.leaseToken(lease.token())
+					.owner(lease.owner())
+					.startedAt(LocalDateTime.now())
+					.build());
+		} catch (RuntimeException e) {
+			log.warn("job skipped, run not recorded. job : {}, token : {}, message : {}", job, lease.token(), e.getMessage());
+			release(lease);
+			return false;
+		}
+
+		long period = Math.max(1, ttl.toMillis() / 3);
+		ScheduledFuture<?> renewal = renewer.scheduleAtFixedRate(() -> renew(lease), period, period, TimeUnit.MILLISECONDS);
+		current.set(lease);
+		String status = ScheduledJobRun.SUCCEEDED;
+		Integer affectedRows = null;
+		String message = null;
+		long start = System.currentTimeMillis();
+		try {
+			affectedRows = task.get();
+		} catch (RuntimeException e) {
+			status = ScheduledJobRun.FAILED;
+			message = e.getMessage();
+			log.warn("job failed. job : {}, token : {}, message : {}", job, lease.token(), e.getMessage(), e);
+		} finally {
+			current.remove();
+			renewal.cancel(false);
+		}
+		if (lease.isLost() && message == null)
+			message = "lease lost while running";
+		log.info("job finished. job : {}, token : {}, status : {}, affected rows : {}, elapsed : {}ms",
+				job, lease.token(), status, affectedRows, System.currentTimeMillis() - start);
+
+		try {
+			run.finish(status, affectedRows, message);
+			scheduledJobRunRepository.save(run);
+		} catch (RuntimeException e) {
+			log.warn("job run not recorded. job : {}, token : {}, message : {}", job, lease.token(), e.getMessage());
+		}
+		release(lease);
+		return ScheduledJobRun.SUCCEEDED.equals(status);
+	}
+
+	/**
+	 * 지금 도는 작업이 아직 lease 를 들고 있는지 확인하는 메서드
+	 * 다른 서버가 lease 를 가져갔으면 예외를 던져 남은 쓰기를 멈춘다. 작업 밖에서 부르면 아무 일도 하지 않는다.
+	 */
+	public void checkLease() {
+		leaseCheck().run();
+	}
+
+	/**
+	 * 지금 도는 작업의 lease 를 확인하는 Runnable, 작업이 다른 스레드에 나눠 맡긴 쓰기에서 checkLease() 대신 쓴다.
+	 */
+	public Runnable leaseCheck() {
+		JobLease lease = current.get();
+		return () -> {
+			if (lease != null && !jobLeaseService.isHeld(lease))
+				throw new IllegalStateException("job lease lost. job : " + lease.job() + ", token : " + lease.token());
+		};
+	}
+
+	/**
+	 * 지금 도는 작업의 fence 를 검사하는 Runnable, 작업이 트랜잭션을 나눠 쓸 때 각 트랜잭션 안에서 쓰기 전에 부른다.
+	 * lease 를 확인하고, 이 회차에 더 큰 token 이 이미 썼으면 예외를 던져 그 트랜잭션을 롤백한다.
+	 * 회차 행은 트랜잭션이 끝날 때까지 잠기므로 검사와 쓰기 사이에 다른 서버가 끼어들지 못한다. 작업 밖에서 부르면 아무 일도 하지 않는다.
+	 */
+	public Runnable fenceCheck(String runKey) {
+		JobLease lease = current.get();
+		Runnable leaseCheck = leaseCheck();
+		return () -> {
+			if (lease == null)
+				return;
+			leaseCheck.run();
+			if (!TransactionSynchronizationManager.isActualTransactionActive())
+				throw new IllegalStateException("job fence needs a transaction. job : " + lease.job());
+			if (!scheduledJobFenceJdbcRepository.fence(lease.job(), runKey, lease.token(), LocalDateTime.now()))
+				throw new IllegalStateException("job fenced by a newer token. job : " + lease.job() + ", run : " + runKey + ", token : " + lease.token());
+		};
+	}
+
+	private void renew(JobLease lease) {
+		try {
+			if (!jobLeaseService.renew(lease, ttl)) {
+				lease.markLost();
+				log.warn("job lease lost. job : {}, token : {}", lease.job(), lease.token());
+			}
+		} catch (RuntimeException e) {
+			// 다음 갱신에서 다시 시도하고, 그 사이 만료되면 다음 갱신이 실패한다
+			log.warn("job lease not renewed. job : {}, message : {}", lease.job(), e.getMessage());
+		}
+	}
+
+	private void release(JobLease lease) {
+		try {
+			long held = System.currentTimeMillis() - lease.acquiredAt();
+			jobLeaseService.release(lease, minHold.minusMillis(held));
+		} catch (RuntimeException e) {
+			log.warn("job lease not released, it expires after ttl. job : {}, message : {}", lease.job(), e.getMessage());
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		renewer.shutdownNow();
+	}
+}
@@ -0,0 +1,121 @@
+package com.a502.backend.domain.parking;
+
+import com.a502.backend.domain.stock.RankingBoard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParkingInterestAccrualTest {
+	private static final LocalDate TODAY = LocalDate.of(2024, 3, 1);
+
+	@Mock
+	private ParkingInterestJdbcRepository parkingInterestJdbcRepository;
+	@Mock
+	private TransactionTemplate transactionTemplate;
+	@Mock
+	private RankingBoard rankingBoard;
+
+	private ParkingInterestAccrual accrual;
+
+	@BeforeEach
+	void setUp() {
+		accrual = new ParkingInterestAccrual(parkingInterestJdbcRepository, transactionTemplate, rankingBoard, 2, 2);
+	}
+
+	@Test
+	@DisplayName("success : 통장 범위를 나눠 chunk 마다 이자를 주고 진행 위치를 남긴다")
+	void whenFirstRunThenPartitionAndAccrue() {
+		//given : 1 ~ 4번 통장, 2개 partition([1, 3), [3, 5)), chunk 2개
+		inTransaction();
+		when(parkingInterestJdbcRepository.findCheckpoints(TODAY)).thenReturn(List.of());
+		when(parkingInterestJdbcRepository.findIdRange()).thenReturn(new int[]{1, 4});
+		when(parkingInterestJdbcRepository.findChunk(0, 3, 2)).thenReturn(List.of(parking(1, 11, 1_000_000), parking(2, 12, 100_000)));
+		when(parkingInterestJdbcRepository.findChunk(2, 3, 2)).thenReturn(List.of());
+		when(parkingInterestJdbcRepository.findChunk(2, 5, 2)).thenReturn(List.<Object[]>of(parking(3, 13, 365_000)));
+		when(parkingInterestJdbcRepository.saveCheckpoint(TODAY, 0, 0, 2)).thenReturn(1);
+		when(parkingInterestJdbcRepository.saveCheckpoint(TODAY, 1, 2, 3)).thenReturn(1);
+
+		//when
+		int paid = accrual.accrue(TODAY, "P003", () -> {
+		});
+
+		//then : 100,000원은 하루 이자가 0원이라 받지 않는다
+		assertEquals(2, paid);
+		ArgumentCaptor<List<int[]>> partitions = ArgumentCaptor.forClass(List.class);
+		verify(parkingInterestJdbcRepository).insertCheckpoints(eq(TODAY), partitions.capture());
+		assertArrayEquals(new int[]{0, 3, 0}, partitions.getValue().get(0));
+		assertArrayEquals(new int[]{1, 5, 2}, partitions.getValue().get(1));
+		verify(parkingInterestJdbcRepository).saveCheckpoint(TODAY, 0, 0, 2);
+		verify(parkingInterestJdbcRepository).saveCheckpoint(TODAY, 1, 2, 3);
+		verify(rankingBoard).markChanged(List.of(11));
+		verify(rankingBoard).markChanged(List.of(13));
+	}
+
+	@Test
+	@DisplayName("success : 같은 날 다시 돌리면 남긴 진행 위치부터 잇는다")
+	void whenRestartedThenResume() {
+		//given
+		inTransaction();
+		when(parkingInterestJdbcRepository.findCheckpoints(TODAY)).thenReturn(List.of(new int[]{0, 3, 2}, new int[]{1, 5, 2}));
+		when(parkingInterestJdbcRepository.findChunk(anyInt(), anyInt(), eq(2))).thenReturn(List.of());
+
+		//when
+		int paid = accrual.accrue(TODAY, "P003", () -> {
+		});
+
+		//then
+		assertEquals(0, paid);
+		verify(parkingInterestJdbcRepository, never()).findIdRange();
+		verify(parkingInterestJdbcRepository).findChunk(2, 3, 2);
+		verify(parkingInterestJdbcRepository).findChunk(2, 5, 2);
+		verify(parkingInterestJdbcRepository, never()).updateBalances(any());
+	}
+
+	@Test
+	@DisplayName("fail : 다른 실행이 진행 위치를 먼저 옮겼으면 그 chunk 는 쓰지 않고 실패한다")
+	void whenCheckpointMovedThenFail() {
+		//given
+		inTransaction();
+		when(parkingInterestJdbcRepository.findCheckpoints(TODAY)).thenReturn(List.<int[]>of(new int[]{0, 3, 0}));
+		when(parkingInterestJdbcRepository.findChunk(0, 3, 2)).thenReturn(List.of(parking(1, 11, 1_000_000), parking(2, 12, 1_000_000)));
+		when(parkingInterestJdbcRepository.saveCheckpoint(TODAY, 0, 0, 2)).thenReturn(0);
+
+		//when
+		assertThrows(IllegalStateException.class, () -> accrual.accrue(TODAY, "P003", () -> {
+		}));
+
+		//then
+		verify(parkingInterestJdbcRepository, never()).updateBalances(any());
+		verify(parkingInterestJdbcRepository, never()).insertDetails(any());
+		verify(rankingBoard, never()).markChanged(any());
+	}
+
+	@Test
+	@DisplayName("success : 하루 이자는 잔액 * 연 이율(%) / 365 / 100 을 원 단위로 버린다")
+	void interest() {
+		assertEquals(5, ParkingInterestAccrual.interest(1_000_000, 0.2));
+		assertEquals(0, ParkingInterestAccrual.interest(100_000, 0.2));
+	}
+
+	private void inTransaction() {
+		when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+	}
+
+	private static Object[] parking(int parkingId, int userId, int balance) {
+		return new Object[]{parkingId, userId, balance, 0.2};
+	}
+}
@@ -0,0 +1,111 @@
+package com.a502.backend.domain.stock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RankingBoardTest {
+	private static final UUID USER1 = UUID.randomUUID();
+	private static final UUID USER2 = UUID.randomUUID();
+
+	@InjectMocks
+	private RankingBoard rankingBoard;
+
+	@Mock
+	private PortfolioRepository portfolioRepository;
+	@Mock
+	private RankService rankService;
+	@Mock
+	private MarketSnapshot marketSnapshot;
+	@Mock
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(rankingBoard, "enabled", true);
+		// 1번 회원 : 잔액 1000 + 1번 종목 10주, 2번 회원 : 잔액 5000 + 2번 종목 1주
+		doAnswer(invocation -> {
+			invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any());
+		when(portfolioRepository.streamAllValuations()).thenReturn(Stream.of(
+				new PortfolioValuation(1, USER1, "민수", 1000, 1000, 900),
+				new PortfolioValuation(2, USER2, "지아", 5000, 200, 200)));
+		when(portfolioRepository.streamAllHoldings()).thenReturn(Stream.of(
+				new Object[]{1, 1, 10},
+				new Object[]{2, 2, 1}));
+		prices(100, 200);
+	}
+
+	@Test
+	@DisplayName("success : 처음에는 전체 회원 점수를 한 번에 반영한다")
+	void whenLoadThenRebuild() {
+		//when
+		rankingBoard.flush();
+
+		//then
+		verify(rankService).replaceScores(
+				Map.of(USER1.toString(), 2000.0, USER2.toString(), 5200.0),
+				Map.of(USER1.toString(), "민수", USER2.toString(), "지아"));
+		verify(rankService, never()).addUserScores(any(), any());
+	}
+
+	@Test
+	@DisplayName("success : 가격이 바뀐 종목의 보유 회원만 다시 계산하고, DB 는 읽지 않는다")
+	void whenPriceMovedThenOnlyHolders() {
+		//given
+		rankingBoard.flush();
+		prices(150, 200);
+
+		//when
+		rankingBoard.flush();
+		rankingBoard.flush();
+
+		//then
+		verify(rankService).addUserScores(Map.of(USER1.toString(), 2500.0), Map.of());
+		verify(portfolioRepository, never()).findValuations(any());
+	}
+
+	@Test
+	@DisplayName("success : 표시된 회원만 DB 에서 다시 평가한다")
+	void whenChangedThenReload() {
+		//given
+		rankingBoard.flush();
+		when(portfolioRepository.findValuations(List.of(2))).thenReturn(List.of(new PortfolioValuation(2, USER2, "지아", 3000, 500, 400)));
+		when(portfolioRepository.findHoldings(List.of(2))).thenReturn(List.<Object[]>of(new Object[]{2, 1, 5}));
+
+		//when
+		rankingBoard.markChanged(2);
+		rankingBoard.flush();
+		prices(200, 200);
+		rankingBoard.flush();
+
+		//then
+		verify(rankService).addUserScores(Map.of(USER2.toString(), 3500.0), Map.of(USER2.toString(), "지아"));
+		verify(rankService).addUserScores(Map.of(USER1.toString(), 3000.0, USER2.toString(), 4000.0), Map.of());
+	}
+
+	private void prices(int price1, int price2) {
+		when(marketSnapshot.getAll()).thenReturn(List.of(quote(1, price1), quote(2, price2)));
+	}
+
+	private static StockQuote quote(int stockId, int price) {
+		return new StockQuote(stockId, "종목" + stockId, null, price, price, price, price, price, price, null, 0, 0, 0);
+	}
+}
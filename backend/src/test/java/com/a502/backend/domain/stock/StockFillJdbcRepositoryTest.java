@@ -0,0 +1,92 @@
+package com.a502.backend.domain.stock;
+
+import com.a502.backend.global.error.BusinessException;
+import com.a502.backend.global.exception.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockFillJdbcRepositoryTest {
+	private static final Timestamp NOW = Timestamp.valueOf("2024-03-01 11:00:00");
+
+	@InjectMocks
+	private StockFillJdbcRepository stockFillJdbcRepository;
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+	@Mock
+	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	@Test
+	@DisplayName("success : 보유 행이 없는 매수인은 처음 체결가로 보유 행을 만든다")
+	void whenBuyerHoldingMissingThenInsert() {
+		//given : 1번 회원이 2번 회원에게 3주, 1주를 샀는데 2번 회원은 이 종목 보유 행이 없다
+		List<Object[]> rows = List.of(
+				holding(1000, -3, 3, 1),
+				holding(1000, 3, 0, 2),
+				holding(1100, -1, 1, 1),
+				holding(1100, 1, 0, 2));
+		when(jdbcTemplate.batchUpdate(startsWith("update stock_holdings"), eq(rows))).thenReturn(new int[]{1, 0, 1, 0});
+		when(jdbcTemplate.batchUpdate(startsWith("insert into stock_holdings"), anyList())).thenReturn(new int[]{1});
+
+		//when
+		stockFillJdbcRepository.updateStockHoldings(rows);
+
+		//then
+		ArgumentCaptor<List<Object[]>> inserts = ArgumentCaptor.forClass(List.class);
+		verify(jdbcTemplate).batchUpdate(startsWith("insert into stock_holdings"), inserts.capture());
+		assertEquals(1, inserts.getValue().size());
+		Object[] insert = inserts.getValue().get(0);
+		assertEquals(2, insert[1]);
+		assertEquals(7, insert[2]);
+		assertEquals(4, insert[3]);
+		assertEquals(4000, insert[4]);
+	}
+
+	@Test
+	@DisplayName("fail : 매도인의 보유 행이 없으면 예외를 던져 batch 를 롤백한다")
+	void whenSellerHoldingMissingThenThrow() {
+		//given
+		List<Object[]> rows = List.<Object[]>of(holding(1000, -3, 3, 1));
+		when(jdbcTemplate.batchUpdate(anyString(), eq(rows))).thenReturn(new int[]{0});
+
+		//when
+		BusinessException e = assertThrows(BusinessException.class, () -> stockFillJdbcRepository.updateStockHoldings(rows));
+
+		//then
+		assertEquals(ErrorCode.API_ERROR_STOCK_HOLDING_NOT_EXIST, e.getErrorCode());
+		verify(jdbcTemplate, never()).batchUpdate(contains("insert into stock_holdings"), anyList());
+	}
+
+	@Test
+	@DisplayName("fail : 파킹통장이 없는 회원이 있으면 잔액 update 가 예외를 던진다")
+	void whenParkingMissingThenThrow() {
+		//given
+		List<Object[]> rows = List.<Object[]>of(new Object[]{-3000, 3000, NOW, 2});
+		when(jdbcTemplate.batchUpdate(anyString(), eq(rows))).thenReturn(new int[]{0});
+
+		//when
+		BusinessException e = assertThrows(BusinessException.class, () -> stockFillJdbcRepository.updateParkingBalances(rows));
+
+		//then
+		assertEquals(ErrorCode.API_ERROR_PARKING_NOT_EXIST, e.getErrorCode());
+	}
+
+	private static Object[] holding(int price, int cnt, int release, int userId) {
+		return new Object[]{price, cnt, cnt, cnt, release, NOW, userId, 7};
+	}
+}
@@ -0,0 +1,286 @@
+package com.a502.backend.domain.stock;
+
+import com.a502.backend.application.entity.Parking;
+import com.a502.backend.application.entity.Stock;
+import com.a502.backend.application.entity.StockHolding;
+import com.a502.backend.application.entity.User;
+import com.a502.backend.application.facade.StockFacade;
+import com.a502.backend.domain.parking.ParkingService;
+import com.a502.backend.domain.stock.request.StockTransactionRequest;
+import com.a502.backend.domain.user.UserRepository;
+import com.a502.backend.global.code.CodeService;
+import com.a502.backend.global.error.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 주문 부하 테스트
+ * <p>
+ * 내장 H2 DB 위에서 users 명의 아이가 동시에 orders 개씩 무작위 주문(지정가/시장가/IOC/FOK)을 넣고,
+ * 주문 응답 시간(p50/p99)과 처리량을 출력한 뒤 돈과 주식이 새거나 생기지 않았는지 확인한다.
+ * 같은 seed 면 회원별 주문 순서가 같다.
+ * <p>
+ * 기본 test 에서는 빠지고 ./gradlew loadTest -Dload.users=50 -Dload.orders=200 -Dload.seed=502 로 실행한다.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(properties = "spring.config.location=classpath:/application-load.yml")
+class StockOrderLoadTest {
+	private static final String[] STOCK_NAMES = {"바람개비", "우산", "아이스크림", "눈오리"};
+	private static final int START_PRICE = 10000;
+	private static final int TICK = 10;
+	private static final int BALANCE = 10_000_000;
+	private static final int HOLDING_CNT = 1000;
+
+	private final int users = Integer.getInteger("load.users", 50);
+	private final int orders = Integer.getInteger("load.orders", 200);
+	private final long seed = Long.getLong("load.seed", 502L);
+
+	@Autowired
+	StockFacade stockFacade;
+	@Autowired
+	StocksService stocksService;
+	@Autowired
+	StockDetailsService stockDetailsService;
+	@Autowired
+	StockHoldingsService stockHoldingsService;
+	@Autowired
+	StockOrderBookService stockOrderBookService;
+	@Autowired
+	StockOrderSequencer stockOrderSequencer;
+	@Autowired
+	StockTickStore stockTickStore;
+	@Autowired
+	MarketSnapshot marketSnapshot;
+	@Autowired
+	ParkingService parkingService;
+	@Autowired
+	CodeService codeService;
+	@Autowired
+	UserRepository userRepository;
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Test
+	@DisplayName("동시 주문 후에도 파킹통장 잔액 합과 종목별 주식 수가 그대로이고 주문 잔량이 맞다")
+	void orderFlow() throws InterruptedException {
+		// given
+		List<Stock> stocks = initStocks();
+		List<String> emails = new TransactionTemplate(transactionManager).execute(status -> initUsers(stocks));
+		long totalBalance = (long) BALANCE * users;
+
+		ExecutorService executor = Executors.newFixedThreadPool(users);
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(users);
+		long[] latencies = new long[users * orders];
+		AtomicInteger accepted = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+		Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+
+		for (int i = 0; i < users; i++) {
+			int userIndex = i;
+			executor.execute(() -> {
+				SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(emails.get(userIndex), null, List.of()));
+				Random random = new Random(seed + userIndex);
+				try {
+					start.await();
+					for (int j = 0; j < orders; j++) {
+						boolean buy = random.nextBoolean();
+						StockTransactionRequest request = randomRequest(random);
+						long begin = System.nanoTime();
+						try {
+							if (buy)
+								stockFacade.stockBuy(request);
+							else
+								stockFacade.stockSell(request);
+							accepted.incrementAndGet();
+						} catch (BusinessException e) {
+							rejected.incrementAndGet();
+						}
+						latencies[userIndex * orders + j] = System.nanoTime() - begin;
+					}
+				} catch (Throwable e) {
+					errors.add(e);
+				} finally {
+					SecurityContextHolder.clearContext();
+					done.countDown();
+				}
+			});
+		}
+
+		// when
+		long begin = System.nanoTime();
+		start.countDown();
+		done.await();
+		long elapsed = System.nanoTime() - begin;
+		executor.shutdown();
+
+		// then
+		Arrays.sort(latencies);
+		log.info("load test. users : {}, orders : {}, accepted : {}, rejected : {}, throughput : {} orders/s, p50 : {} ms, p99 : {} ms, max : {} ms",
+				users, users * orders, accepted.get(), rejected.get(),
+				String.format("%.1f", users * orders * 1e9 / elapsed),
+				millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.99)), millis(latencies[latencies.length - 1]));
+
+		assertAll(
+				() -> assertTrue(errors.isEmpty(), () -> "unexpected errors : " + errors),
+				() -> assertEquals(totalBalance, jdbcTemplate.queryForObject("select sum(balance) from parkings", Long.class),
+						"파킹통장 잔액 합이 바뀌었다"),
+				() -> {
+					for (Stock stock : stocks)
+						assertEquals((long) HOLDING_CNT * users, jdbcTemplate.queryForObject(
+								"select sum(cnt) from stock_holdings where stock_id = ?", Long.class, stock.getId()),
+								stock.getName() + " 주식 수가 바뀌었다");
+				},
+				() -> assertEquals(0, count("select count(*) from stock_buys where cnt_not < 0 or cnt_not > cnt_total"), "매수 주문 잔량 범위"),
+				() -> assertEquals(0, count("select count(*) from stock_sells where cnt_not < 0 or cnt_not > cnt_total"), "매도 주문 잔량 범위"),
+				() -> assertEquals(0, count("""
+						select count(*) from stock_buys
+						where (code_id = 'S001' and cnt_not = 0) or (code_id = 'S002' and cnt_not <> 0)
+						"""), "매수 주문 상태와 잔량"),
+				() -> assertEquals(0, count("""
+						select count(*) from stock_sells
+						where (code_id = 'S001' and cnt_not = 0) or (code_id = 'S002' and cnt_not <> 0)
+						"""), "매도 주문 상태와 잔량"),
+				() -> assertEquals(0, count("""
+						select count(*) from parkings p
+						where p.reserved < 0 or p.reserved > p.balance
+						   or p.reserved <> coalesce((select sum(sb.price * sb.cnt_not) from stock_buys sb
+						                              where sb.user_id = p.user_id and sb.code_id = 'S001'), 0)
+						"""), "파킹통장에 묶인 금액"),
+				() -> assertEquals(0, count("""
+						select count(*) from stock_holdings sh
+						where sh.reserved_cnt < 0 or sh.reserved_cnt > sh.cnt
+						   or sh.reserved_cnt <> coalesce((select sum(ss.cnt_not) from stock_sells ss
+						                                  where ss.user_id = sh.user_id and ss.stock_id = sh.stock_id and ss.code_id = 'S001'), 0)
+						"""), "보유 주식에 묶인 수량"),
+				() -> {
+					for (Stock stock : stocks) {
+						assertEquals(
+								count("select coalesce(sum(cnt_total - cnt_not), 0) from stock_buys where stock_id = " + stock.getId()),
+								count("select coalesce(sum(cnt_total - cnt_not), 0) from stock_sells where stock_id = " + stock.getId()),
+								stock.getName() + " 매수/매도 체결 수량");
+						assertEquals(
+								count("select coalesce(sum(cnt_total - cnt_not), 0) from stock_buys where stock_id = " + stock.getId()),
+								count("select coalesce(sum(cnt), 0) from stock_candles where resolution = 'MINUTE_1' and stock_id = " + stock.getId()),
+								stock.getName() + " 1분봉 거래량");
+						assertEquals(
+								count("select coalesce(sum(cnt_total - cnt_not), 0) from stock_buys where stock_id = " + stock.getId()),
+								stockTickStore.getBars(stock, LocalDate.now().atStartOfDay(), LocalDateTime.now().plusMinutes(1), 10).stream().mapToLong(StockCandleBar::cnt).sum(),
+								stock.getName() + " 틱 거래량");
+						assertEquals(
+								count("select coalesce(sum(cnt_total - cnt_not), 0) from stock_buys where stock_id = " + stock.getId()),
+								count("select coalesce(sum(volume), 0) from stock_daily_stats where stock_id = " + stock.getId()),
+								stock.getName() + " 오늘 거래량");
+						assertEquals(
+								count("select coalesce(sum(volume), 0) from stock_daily_stats where stock_id = " + stock.getId()),
+								marketSnapshot.get(stock.getId()).getTodayVolume(),
+								stock.getName() + " 시세 스냅샷 거래량");
+						assertEquals(
+								stockDetailsService.getLastDetail(stock).getPrice(),
+								marketSnapshot.get(stock.getId()).price(),
+								stock.getName() + " 시세 스냅샷 현재가");
+					}
+				},
+				() -> {
+					for (Stock stock : stocks) {
+						long opened = count("select count(*) from stock_buys where code_id = 'S001' and stock_id = " + stock.getId())
+								+ count("select count(*) from stock_sells where code_id = 'S001' and stock_id = " + stock.getId());
+						int booked = stockOrderSequencer.execute(stock.getId(), () -> stockOrderBookService.getOrderBook(stock).getOrderCount());
+						assertEquals(opened, booked, stock.getName() + " 호가창과 거래중 주문 수");
+					}
+				}
+		);
+	}
+
+	private List<Stock> initStocks() {
+		codeService.save("S001", "거래중");
+		codeService.save("S002", "완료");
+		codeService.save("S003", "취소");
+		codeService.save("PD002", "매도");
+		codeService.save("PD003", "매수");
+
+		List<Stock> stocks = new ArrayList<>();
+		for (String name : STOCK_NAMES) {
+			Stock stock = stocksService.save(name, name);
+			stockDetailsService.saveInit(START_PRICE, START_PRICE / 2, START_PRICE * 3 / 2, stock);
+			stocks.add(stock);
+		}
+		return stocks;
+	}
+
+	/**
+	 * 보유 주식은 회원과 종목이 영속 상태여야 저장되므로 한 트랜잭션 안에서 만든다
+	 */
+	private List<String> initUsers(List<Stock> detached) {
+		List<Stock> stocks = detached.stream().map(stock -> stocksService.findById(stock.getId())).toList();
+		List<String> emails = new ArrayList<>(users);
+		for (int i = 0; i < users; i++) {
+			User user = userRepository.save(User.builder()
+					.name("아이" + i)
+					.email("load" + i + "@mufin.com")
+					.password("load")
+					.build());
+			parkingService.saveParkingAccount(Parking.builder()
+					.user(user)
+					.balance(BALANCE)
+					.interest(0.2)
+					.build());
+			for (Stock stock : stocks) {
+				stockHoldingsService.save(StockHolding.builder()
+						.user(user)
+						.stock(stock)
+						.cnt(HOLDING_CNT)
+						.total(HOLDING_CNT * START_PRICE)
+						.build());
+			}
+			emails.add(user.getEmail());
+		}
+		return emails;
+	}
+
+	/**
+	 * 시작가 ±10 호가 안의 지정가 70%, 시장가/IOC/FOK 각 10%
+	 */
+	private static StockTransactionRequest randomRequest(Random random) {
+		int roll = random.nextInt(10);
+		StockOrderType type = roll < 7 ? StockOrderType.LIMIT : StockOrderType.values()[roll - 6];
+		return new StockTransactionRequest(
+				STOCK_NAMES[random.nextInt(STOCK_NAMES.length)],
+				START_PRICE + (random.nextInt(21) - 10) * TICK,
+				random.nextInt(10) + 1,
+				type);
+	}
+
+	private long count(String sql) {
+		Long count = jdbcTemplate.queryForObject(sql, Long.class);
+		return count == null ? 0 : count;
+	}
+
+	private static long percentile(long[] sorted, double p) {
+		return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+	}
+
+	private static String millis(long nanos) {
+		return String.format("%.2f", nanos / 1e6);
+	}
+}
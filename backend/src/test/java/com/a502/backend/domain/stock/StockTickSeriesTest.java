@@ -0,0 +1,62 @@
+package com.a502.backend.domain.stock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockTickSeriesTest {
+
+	private StockTickSeries series;
+
+	@BeforeEach
+	void setUp() {
+		series = new StockTickSeries(16);
+	}
+
+	@Test
+	@DisplayName("success : 구간을 같은 길이로 나눠 구간마다 시작/최고/최저/종가와 거래량을 모은다")
+	void downsample() {
+		//given
+		series.append(1000, 100, 1);
+		series.append(1500, 120, 2);
+		series.append(1900, 90, 3);
+		series.append(2100, 110, 4);
+		series.append(3500, 130, 5);
+
+		//when
+		List<StockCandleBar> bars = series.downsample(1000, 4000, 3);
+
+		//then
+		assertEquals(3, bars.size());
+		assertEquals(List.of(100, 120, 90, 90, 6), values(bars.get(0)));
+		assertEquals(List.of(110, 110, 110, 110, 4), values(bars.get(1)));
+		assertEquals(List.of(130, 130, 130, 130, 5), values(bars.get(2)));
+		assertEquals(StockTickSeries.toLocalDateTime(2000), bars.get(1).bucketStart());
+	}
+
+	@Test
+	@DisplayName("success : 구간 밖의 틱과 틱이 없는 구간은 빠진다")
+	void whenRangeThenSkipOutside() {
+		//given
+		for (int i = 0; i < 100; i++)
+			series.append(i * 100L, 100 + i, 1);
+
+		//when
+		List<StockCandleBar> bars = series.downsample(2000, 2500, 10);
+
+		//then
+		assertEquals(5, series.count(2000, 2500));
+		assertEquals(5, bars.size());
+		assertEquals(120, bars.get(0).startPrice());
+		assertEquals(124, bars.get(4).price());
+		assertTrue(series.downsample(20000, 30000, 10).isEmpty());
+	}
+
+	private static List<Integer> values(StockCandleBar bar) {
+		return List.of(bar.startPrice(), bar.highestPrice(), bar.lowestPrice(), bar.price(), bar.cnt());
+	}
+}
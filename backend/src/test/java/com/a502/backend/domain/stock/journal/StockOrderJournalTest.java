@@ -0,0 +1,107 @@
+package com.a502.backend.domain.stock.journal;
+
+import com.a502.backend.domain.stock.orderbook.OrderBook;
+import com.a502.backend.domain.stock.orderbook.OrderSide;
+import com.a502.backend.domain.stock.orderbook.RestingOrder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockOrderJournalTest {
+
+	private static final int SEGMENT_SIZE = JournalRecord.SIZE * 4;
+
+	@TempDir
+	Path directory;
+
+	private static RestingOrder order(int orderId, OrderSide side, int price, int cnt) {
+		return RestingOrder.builder().orderId(orderId).userId(orderId).side(side).price(price).remaining(cnt).build();
+	}
+
+	// 서비스와 같은 순서로 저널을 남기며 매칭
+	private static void place(StockOrderJournal journal, OrderBook orderBook, RestingOrder order) throws IOException {
+		journal.append(JournalRecord.order(order));
+		orderBook.match(order).forEach(fill -> {
+			try {
+				journal.append(JournalRecord.fill(fill));
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		orderBook.rest(order);
+	}
+
+	@Test
+	@DisplayName("success : 스냅샷 이후 주문을 다시 매칭해 호가창을 복원")
+	void recover() throws IOException {
+		//given
+		OrderBook orderBook = new OrderBook(1);
+		try (StockOrderJournal journal = new StockOrderJournal(directory, SEGMENT_SIZE)) {
+			place(journal, orderBook, order(1, OrderSide.SELL, 10000, 5));
+			place(journal, orderBook, order(2, OrderSide.SELL, 10100, 5));
+			journal.writeSnapshot(orderBook);
+			place(journal, orderBook, order(3, OrderSide.BUY, 10100, 7));
+			place(journal, orderBook, order(4, OrderSide.BUY, 9900, 2));
+			journal.append(JournalRecord.cancel(OrderSide.BUY, 4));
+			orderBook.cancel(OrderSide.BUY, 4);
+		}
+
+		//when
+		StockOrderJournal reopened = new StockOrderJournal(directory, SEGMENT_SIZE);
+		Optional<OrderBook> recovered = reopened.recover(1);
+
+		//then
+		assertTrue(recovered.isPresent());
+		assertEquals(orderBook.getOrderCount(), recovered.get().getOrderCount());
+		assertEquals(3, recovered.get().getOrder(OrderSide.SELL, 2).getRemaining());
+		assertNull(recovered.get().getOrder(OrderSide.BUY, 4));
+		assertTrue(recovered.get().getBids().isEmpty());
+	}
+
+	@Test
+	@DisplayName("success : 여러 세그먼트에 걸친 레코드를 순서대로 읽고 순번을 이어서 부여")
+	void replayAcrossSegments() throws IOException {
+		//given
+		try (StockOrderJournal journal = new StockOrderJournal(directory, SEGMENT_SIZE)) {
+			for (int i = 1; i <= 10; i++)
+				journal.append(JournalRecord.order(order(i, OrderSide.BUY, 10000, 1)));
+		}
+
+		//when
+		StockOrderJournal reopened = new StockOrderJournal(directory, SEGMENT_SIZE);
+		List<JournalRecord> records = new ArrayList<>();
+		reopened.replay(5, records::add);
+
+		//then
+		assertEquals(10, reopened.getLastSeq());
+		assertEquals(5, records.size());
+		assertEquals(6, records.get(0).id1());
+		assertEquals(11, reopened.append(JournalRecord.reset()));
+	}
+
+	@Test
+	@DisplayName("fail : 스냅샷 이후 RESET 이 있으면 DB 에서 다시 만들어야 함")
+	void whenResetThenEmpty() throws IOException {
+		//given
+		OrderBook orderBook = new OrderBook(1);
+		try (StockOrderJournal journal = new StockOrderJournal(directory, SEGMENT_SIZE)) {
+			place(journal, orderBook, order(1, OrderSide.SELL, 10000, 5));
+			journal.writeSnapshot(orderBook);
+			journal.append(JournalRecord.reset());
+		}
+
+		//when
+		Optional<OrderBook> recovered = new StockOrderJournal(directory, SEGMENT_SIZE).recover(1);
+
+		//then
+		assertTrue(recovered.isEmpty());
+	}
+}
@@ -0,0 +1,144 @@
+package com.a502.backend.domain.stock.orderbook;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderBookTest {
+
+	private OrderBook orderBook;
+
+	@BeforeEach
+	void setUp() {
+		orderBook = new OrderBook(1);
+	}
+
+	private static RestingOrder order(int orderId, OrderSide side, int price, int cnt) {
+		return RestingOrder.builder()
+				.orderId(orderId)
+				.userId(orderId)
+				.side(side)
+				.price(price)
+				.remaining(cnt)
+				.build();
+	}
+
+	@DisplayName("Match Test")
+	@Nested
+	class match {
+
+		@Test
+		@DisplayName("success : 지정가 안쪽 가격대를 낮은 가격부터 모두 체결")
+		void whenCrossingLevels() {
+			//given
+			orderBook.rest(order(1, OrderSide.SELL, 10100, 3));
+			orderBook.rest(order(2, OrderSide.SELL, 10000, 2));
+			orderBook.rest(order(3, OrderSide.SELL, 10200, 5));
+			RestingOrder buy = order(10, OrderSide.BUY, 10100, 4);
+
+			//when
+			List<OrderFill> fills = orderBook.match(buy);
+
+			//then
+			assertEquals(List.of(
+					new OrderFill(10, 2, 10, 2, 10000, 2),
+					new OrderFill(10, 1, 10, 1, 10100, 2)), fills);
+			assertEquals(0, buy.getRemaining());
+			assertEquals(1, orderBook.getAsks().get(10100).getTotalQuantity());
+			assertNull(orderBook.getAsks().get(10000));
+		}
+
+		@Test
+		@DisplayName("success : 같은 가격에서는 먼저 들어온 주문부터 체결")
+		void whenSamePriceThenFifo() {
+			//given
+			orderBook.rest(order(1, OrderSide.BUY, 10000, 2));
+			orderBook.rest(order(2, OrderSide.BUY, 10000, 2));
+			RestingOrder sell = order(10, OrderSide.SELL, 10000, 3);
+
+			//when
+			List<OrderFill> fills = orderBook.match(sell);
+
+			//then
+			assertEquals(List.of(
+					new OrderFill(1, 10, 1, 10, 10000, 2),
+					new OrderFill(2, 10, 2, 10, 10000, 1)), fills);
+			assertNull(orderBook.getOrder(OrderSide.BUY, 1));
+			assertEquals(1, orderBook.getOrder(OrderSide.BUY, 2).getRemaining());
+		}
+
+		@Test
+		@DisplayName("success : 지정가를 넘는 호가는 체결하지 않고 남은 수량은 호가창에 올림")
+		void whenNotCrossingThenRest() {
+			//given
+			orderBook.rest(order(1, OrderSide.SELL, 10100, 3));
+			RestingOrder buy = order(10, OrderSide.BUY, 10000, 4);
+
+			//when
+			List<OrderFill> fills = orderBook.match(buy);
+			orderBook.rest(buy);
+
+			//then
+			assertTrue(fills.isEmpty());
+			assertEquals(4, orderBook.getBids().firstEntry().getValue().getTotalQuantity());
+			assertEquals(2, orderBook.getOrderCount());
+		}
+	}
+
+	@Test
+	@DisplayName("fillable : 지정가 안쪽 반대편 잔량만 세고 호가창은 그대로 둠")
+	void fillableQuantity() {
+		//given
+		orderBook.rest(order(1, OrderSide.SELL, 10000, 2));
+		orderBook.rest(order(2, OrderSide.SELL, 10100, 3));
+		orderBook.rest(order(3, OrderSide.SELL, 10200, 5));
+
+		//when then
+		assertEquals(5, orderBook.fillableQuantity(OrderSide.BUY, 10100, 10));
+		assertEquals(4, orderBook.fillableQuantity(OrderSide.BUY, 10200, 4));
+		assertEquals(0, orderBook.fillableQuantity(OrderSide.BUY, 9900, 4));
+		assertEquals(3, orderBook.getOrderCount());
+	}
+
+	@Test
+	@DisplayName("cancel : 주문을 내리면 가격대 수량도 함께 줄어듦")
+	void cancel() {
+		//given
+		orderBook.rest(order(1, OrderSide.SELL, 10000, 3));
+		orderBook.rest(order(2, OrderSide.SELL, 10000, 2));
+
+		//when
+		RestingOrder canceled = orderBook.cancel(OrderSide.SELL, 1);
+
+		//then
+		assertNotNull(canceled);
+		assertEquals(2, orderBook.getAsks().get(10000).getTotalQuantity());
+		assertNull(orderBook.cancel(OrderSide.SELL, 1));
+	}
+
+	@Test
+	@DisplayName("depth : 체결/주문으로 바뀐 가격만 변경 후 잔량으로 돌려줌")
+	void drainDepthChanges() {
+		//given
+		orderBook.rest(order(1, OrderSide.SELL, 10000, 2));
+		orderBook.rest(order(2, OrderSide.SELL, 10100, 3));
+		orderBook.drainDepthChanges();
+		RestingOrder buy = order(10, OrderSide.BUY, 10000, 5);
+
+		//when
+		orderBook.match(buy);
+		orderBook.rest(buy);
+		List<DepthChange> changes = orderBook.drainDepthChanges();
+
+		//then
+		assertEquals(List.of(
+				new DepthChange(OrderSide.BUY, 10000, 3),
+				new DepthChange(OrderSide.SELL, 10000, 0)), changes);
+		assertTrue(orderBook.drainDepthChanges().isEmpty());
+	}
+}
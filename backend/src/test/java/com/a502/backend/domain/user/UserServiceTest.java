@@ -0,0 +1,82 @@
+package com.a502.backend.domain.user;
+
+import com.a502.backend.application.config.generator.JwtProvider;
+import com.a502.backend.application.config.generator.JwtUtil;
+import com.a502.backend.fixture.UserFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+	private static final String SECRET = "bG9hZC10ZXN0LXNlY3JldC1rZXktZm9yLW11ZmluLWJhY2tlbmQtc3RvY2stb3JkZXItbG9hZC10ZXN0";
+
+	@Mock
+	private UserRepository userRepository;
+	@Mock
+	private PasswordEncoder passwordEncoder;
+	@Mock
+	private AuthenticationManagerBuilder authenticationManagerBuilder;
+
+	private final JwtUtil jwtUtil = new JwtUtil(SECRET);
+	private final JwtProvider jwtProvider = new JwtProvider(SECRET);
+	private UserService userService;
+
+	@BeforeEach
+	void setUp() {
+		userService = new UserService(userRepository, passwordEncoder, authenticationManagerBuilder, jwtUtil);
+		ReflectionTestUtils.setField(userService, "adminEmails", List.of("hansl@ssafy.com"));
+	}
+
+	@Test
+	@DisplayName("success : 운영자 이메일로 로그인하면 access token 에 ROLE_ADMIN 이 실려 actuator 를 쓸 수 있다")
+	void whenAdminThenTokenHasAdminRole() {
+		//given
+		when(userRepository.findByEmail("hansl@ssafy.com")).thenReturn(Optional.of(UserFixture.USER_PARENT.create()));
+
+		//when
+		List<String> authorities = authoritiesInToken(userService.loadUserByUsername("hansl@ssafy.com"));
+
+		//then
+		assertTrue(authorities.contains("ROLE_ADMIN"));
+		assertTrue(authorities.contains("ROLE_USER"));
+	}
+
+	@Test
+	@DisplayName("success : 운영자가 아닌 회원은 ROLE_USER 만 받는다")
+	void whenNotAdminThenUserRoleOnly() {
+		//given
+		when(userRepository.findByEmail("eunpeong@ssafy.com")).thenReturn(Optional.of(UserFixture.USER_CHILD1.create()));
+
+		//when
+		List<String> authorities = authoritiesInToken(userService.loadUserByUsername("eunpeong@ssafy.com"));
+
+		//then
+		assertEquals(List.of("ROLE_USER"), authorities);
+	}
+
+	/**
+	 * 로그인과 같은 방법으로 token 을 만들고, JwtFilter 와 같은 방법으로 읽어서 요청이 받는 권한을 돌려준다.
+	 */
+	private List<String> authoritiesInToken(UserDetails userDetails) {
+		String accessToken = jwtUtil.generateToken(new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities())).getAccessToken();
+		return jwtProvider.getAuthentication(accessToken).getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority)
+				.toList();
+	}
+}
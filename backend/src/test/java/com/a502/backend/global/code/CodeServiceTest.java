@@ -0,0 +1,62 @@
+package com.a502.backend.global.code;
+
+import com.a502.backend.application.entity.Code;
+import com.a502.backend.global.error.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CodeServiceTest {
+
+	@InjectMocks
+	private CodeService codeService;
+
+	@Mock
+	private CodeRepository codeRepository;
+
+	@Test
+	@DisplayName("success : 처음 한 번만 전체를 읽고 이후 조회는 DB 를 거치지 않는다")
+	void whenLoadedThenNoQuery() {
+		//given
+		when(codeRepository.findAll()).thenReturn(List.of(
+				Code.builder().id("S001").name("거래중").build(),
+				Code.builder().id("S002").name("완료").build()));
+
+		//when
+		for (int i = 0; i < 100; i++) {
+			assertEquals("S002", codeService.findByName("완료").getId());
+			assertEquals("거래중", codeService.findById("S001").getName());
+		}
+
+		//then
+		verify(codeRepository, times(1)).findAll();
+		verify(codeRepository, never()).findByName(anyString());
+		verify(codeRepository, never()).findById(anyString());
+	}
+
+	@Test
+	@DisplayName("success : 없는 코드는 DB 에서 찾고, 있으면 전체를 다시 읽는다")
+	void whenMissingThenReload() {
+		//given
+		Code added = Code.builder().id("S003").name("취소").build();
+		when(codeRepository.findAll()).thenReturn(List.of(), List.of(added));
+		when(codeRepository.findByName("취소")).thenReturn(Optional.of(added));
+		when(codeRepository.findByName("없음")).thenReturn(Optional.empty());
+
+		//when then
+		assertEquals("S003", codeService.findByName("취소").getId());
+		assertEquals("S003", codeService.findByName("취소").getId());
+		assertThrows(BusinessException.class, () -> codeService.findByName("없음"));
+		verify(codeRepository, times(2)).findAll();
+	}
+}
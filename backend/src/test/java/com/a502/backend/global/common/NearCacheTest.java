@@ -0,0 +1,74 @@
+package com.a502.backend.global.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NearCacheTest {
+
+	private final AtomicLong now = new AtomicLong();
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private String load(Integer key) {
+		loads.incrementAndGet();
+		return "stock-" + key;
+	}
+
+	@Test
+	@DisplayName("success : 한 번 읽은 값은 유효 시간 동안 다시 읽지 않는다")
+	void whenCachedThenNoLoad() {
+		//given
+		NearCache<Integer, String> cache = new NearCache<>(10, Duration.ofNanos(100), now::get);
+
+		//when
+		for (int i = 0; i < 5; i++)
+			assertEquals("stock-1", cache.get(1, this::load));
+		now.set(100);
+		cache.get(1, this::load);
+
+		//then
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	@DisplayName("success : 크기를 넘으면 가장 오래 안 쓴 값부터 밀어낸다")
+	void whenFullThenEvictLeastRecentlyUsed() {
+		//given
+		NearCache<Integer, String> cache = new NearCache<>(2, Duration.ofSeconds(1), now::get);
+		cache.get(1, this::load);
+		cache.get(2, this::load);
+
+		//when
+		cache.get(1, this::load);
+		cache.get(3, this::load);
+
+		//then
+		assertEquals(2, cache.size());
+		assertNotNull(cache.getIfPresent(1));
+		assertNull(cache.getIfPresent(2));
+	}
+
+	@Test
+	@DisplayName("fail : 지운 값은 다시 읽고, loader 예외는 캐시에 남지 않는다")
+	void whenEvictedOrFailedThenLoadAgain() {
+		//given
+		NearCache<Integer, String> cache = new NearCache<>(10, Duration.ofSeconds(1), now::get);
+		cache.get(1, this::load);
+
+		//when
+		cache.evictAfterCommit(1);
+		cache.get(1, this::load);
+
+		//then
+		assertEquals(2, loads.get());
+		assertThrows(IllegalStateException.class, () -> cache.get(2, key -> {
+			throw new IllegalStateException();
+		}));
+		assertNull(cache.getIfPresent(2));
+	}
+}
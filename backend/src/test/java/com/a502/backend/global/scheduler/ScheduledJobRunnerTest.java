@@ -0,0 +1,162 @@
+package com.a502.backend.global.scheduler;
+
+import com.a502.backend.application.entity.ScheduledJobRun;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledJobRunnerTest {
+
+	@Mock
+	private JobLeaseService jobLeaseService;
+	@Mock
+	private ScheduledJobRunRepository scheduledJobRunRepository;
+	@Mock
+	private ScheduledJobFenceJdbcRepository scheduledJobFenceJdbcRepository;
+	@Mock
+	private TransactionTemplate transactionTemplate;
+
+	private ScheduledJobRunner runner;
+	private final AtomicInteger runs = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		runner = new ScheduledJobRunner(jobLeaseService, scheduledJobRunRepository, scheduledJobFenceJdbcRepository, transactionTemplate, 60000, 300000);
+	}
+
+	@AfterEach
+	void tearDown() {
+		runner.shutdown();
+	}
+
+	@Test
+	@DisplayName("success : lease 를 잡으면 한 번 돌리고, 바꾼 행 수를 기록한 뒤 min-hold 만큼 lease 를 남긴다")
+	void whenAcquiredThenRunAndHold() {
+		//given
+		JobLease lease = new JobLease("interest", "server-1", 7, System.currentTimeMillis());
+		when(jobLeaseService.acquire(eq("interest"), any())).thenReturn(Optional.of(lease));
+		when(scheduledJobRunRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+		//when
+		boolean succeeded = runner.runAndCount("interest", runs::incrementAndGet);
+
+		//then
+		assertTrue(succeeded);
+		assertEquals(1, runs.get());
+		ArgumentCaptor<ScheduledJobRun> run = ArgumentCaptor.forClass(ScheduledJobRun.class);
+		verify(scheduledJobRunRepository, times(2)).save(run.capture());
+		assertEquals(7, run.getValue().getLeaseToken());
+		assertEquals(ScheduledJobRun.SUCCEEDED, run.getValue().getStatus());
+		assertEquals(1, run.getValue().getAffectedRows());
+		ArgumentCaptor<Duration> hold = ArgumentCaptor.forClass(Duration.class);
+		verify(jobLeaseService).release(eq(lease), hold.capture());
+		assertTrue(hold.getValue().toMillis() > 290000);
+	}
+
+	@Test
+	@DisplayName("success : 다른 서버가 lease 를 들고 있으면 돌리지 않는다")
+	void whenHeldByOtherThenSkip() {
+		//given
+		when(jobLeaseService.acquire(eq("interest"), any())).thenReturn(Optional.empty());
+
+		//when
+		boolean succeeded = runner.run("interest", runs::incrementAndGet);
+
+		//then
+		assertFalse(succeeded);
+		assertEquals(0, runs.get());
+		verify(scheduledJobRunRepository, never()).save(any());
+	}
+
+	@Test
+	@DisplayName("fail : 돌던 중 lease 를 잃으면 checkLease 에서 멈추고 실패로 기록한다")
+	void whenLeaseLostThenStop() {
+		//given
+		JobLease lease = new JobLease("marketEnd", "server-1", 3, System.currentTimeMillis());
+		when(jobLeaseService.acquire(eq("marketEnd"), any())).thenReturn(Optional.of(lease));
+		when(scheduledJobRunRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+		when(jobLeaseService.isHeld(lease)).thenReturn(false);
+
+		//when
+		boolean succeeded = runner.run("marketEnd", () -> {
+			runner.checkLease();
+			runs.incrementAndGet();
+		});
+
+		//then
+		assertFalse(succeeded);
+		assertEquals(0, runs.get());
+		ArgumentCaptor<ScheduledJobRun> run = ArgumentCaptor.forClass(ScheduledJobRun.class);
+		verify(scheduledJobRunRepository, times(2)).save(run.capture());
+		assertEquals(ScheduledJobRun.FAILED, run.getValue().getStatus());
+	}
+
+	@Test
+	@DisplayName("success : 다른 token 이 오늘 회차를 이미 잡았으면 runOnce 는 돌리지 않는다")
+	void whenRunAlreadyClaimedThenSkip() {
+		//given : min-hold 가 지난 뒤 늦은 서버가 새 lease 를 잡은 경우
+		JobLease lease = new JobLease("checkLoanArrears", "server-2", 8, System.currentTimeMillis());
+		when(jobLeaseService.acquire(eq("checkLoanArrears"), any())).thenReturn(Optional.of(lease));
+		when(jobLeaseService.isHeld(lease)).thenReturn(true);
+		when(scheduledJobRunRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+		when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+		when(scheduledJobFenceJdbcRepository.claim(eq("checkLoanArrears"), eq("2024-03-01"), eq(8L), any())).thenReturn(false);
+
+		//when
+		boolean succeeded = runner.runOnce("checkLoanArrears", "2024-03-01", runs::incrementAndGet);
+
+		//then
+		assertTrue(succeeded);
+		assertEquals(0, runs.get());
+		ArgumentCaptor<ScheduledJobRun> run = ArgumentCaptor.forClass(ScheduledJobRun.class);
+		verify(scheduledJobRunRepository, times(2)).save(run.capture());
+		assertEquals(0, run.getValue().getAffectedRows());
+	}
+
+	@Test
+	@DisplayName("fail : 더 큰 token 이 같은 회차를 이미 썼으면 fenceCheck 가 예외를 던진다")
+	void whenFencedByNewerTokenThenThrow() {
+		//given
+		JobLease lease = new JobLease("interest", "server-1", 7, System.currentTimeMillis());
+		when(jobLeaseService.acquire(eq("interest"), any())).thenReturn(Optional.of(lease));
+		when(jobLeaseService.isHeld(lease)).thenReturn(true);
+		when(scheduledJobRunRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+		when(scheduledJobFenceJdbcRepository.fence(eq("interest"), eq("2024-03-01"), eq(7L), any())).thenReturn(false);
+
+		//when
+		boolean succeeded = runner.run("interest", () -> {
+			Runnable fenceCheck = runner.fenceCheck("2024-03-01");
+			TransactionSynchronizationManager.setActualTransactionActive(true);
+			try {
+				fenceCheck.run();
+				runs.incrementAndGet();
+			} finally {
+				TransactionSynchronizationManager.setActualTransactionActive(false);
+			}
+		});
+
+		//then
+		assertFalse(succeeded);
+		assertEquals(0, runs.get());
+		ArgumentCaptor<ScheduledJobRun> run = ArgumentCaptor.forClass(ScheduledJobRun.class);
+		verify(scheduledJobRunRepository, times(2)).save(run.capture());
+		assertEquals(ScheduledJobRun.FAILED, run.getValue().getStatus());
+	}
+}